@@ -0,0 +1,112 @@
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+
+// Şablon dosyalarını (ör. Template.docx) tamamını belleğe almadan Base64'e çevirir ve geri açar.
+// Heap'te sadece sabit boyutlu okuma buffer'ı tutulur; dosya boyutundan bağımsızdır.
+public class Base64Encoder {
+
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    // input'u Base64 olarak output'a yazar (satır sonu yok, padding var). Okunan bayt sayısını döner.
+    // Akışlar kapatılmaz.
+    public static long encode(InputStream input, OutputStream output) throws IOException {
+        long total;
+        try (OutputStream encoder = Base64.getEncoder().wrap(nonClosing(output))) {
+            total = copy(input, encoder);
+        }
+        // close() son grubu ve padding'i yazar, output'u kapatmaz
+        output.flush();
+        return total;
+    }
+
+    public static long encode(Path file, OutputStream output) throws IOException {
+        try (InputStream input = Files.newInputStream(file)) {
+            return encode(input, output);
+        }
+    }
+
+    // Base64 metni açarak output'a yazar. Yazılan bayt sayısını döner. Akışlar kapatılmaz.
+    public static long decode(InputStream base64, OutputStream output) throws IOException {
+        long total = copy(Base64.getDecoder().wrap(base64), output);
+        output.flush();
+        return total;
+    }
+
+    // "fieldName": "<base64>" alanını generator'a yazar; Jackson veriyi parça parça kodlar,
+    // Base64 metninin tamamı hiçbir zaman bellekte oluşmaz. Okunan bayt sayısını döner.
+    public static int writeField(JsonGenerator generator, String fieldName, InputStream input) throws IOException {
+        generator.writeFieldName(fieldName);
+        return generator.writeBinary(input, -1);
+    }
+
+    // Parser'ın bulunduğu Base64 metin değerini açarak output'a yazar. Yazılan bayt sayısını döner.
+    public static int readField(JsonParser parser, OutputStream output) throws IOException {
+        if (parser.currentToken() == JsonToken.FIELD_NAME) {
+            parser.nextToken();
+        }
+        return parser.readBinaryValue(output);
+    }
+
+    // resources klasöründeki şablonu açar
+    public static InputStream openTemplate(String resourceName) throws FileNotFoundException {
+        InputStream inputStream = Base64Encoder.class.getClassLoader().getResourceAsStream(resourceName);
+        if (inputStream == null) {
+            throw new FileNotFoundException(resourceName + " bulunamadı! resources klasöründe olduğundan emin olun.");
+        }
+        return inputStream;
+    }
+
+    private static long copy(InputStream input, OutputStream output) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long total = 0;
+        int read;
+        while ((read = input.read(buffer)) != -1) {
+            output.write(buffer, 0, read);
+            total += read;
+        }
+        return total;
+    }
+
+    // Base64 encoder'ın close() çağrısı alttaki akışı kapatmasın diye
+    private static OutputStream nonClosing(OutputStream output) {
+        return new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                output.write(b);
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                output.write(bytes, offset, length);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                output.flush();
+            }
+        };
+    }
+
+    public static void main(String[] args) {
+        // resources klasöründen Template.docx'i oku
+        try (InputStream inputStream = openTemplate("Template.docx")) {
+            // Base64'e çevir ve ekrana yaz
+            System.out.println("Base64 çıktısı:");
+            encode(inputStream, System.out);
+            System.out.println();
+        } catch (FileNotFoundException e) {
+            System.out.println(e.getMessage());
+        } catch (IOException e) {
+            System.out.println("Hata oluştu: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.ykl.leasing.ngla.system.common.util;
+
+import java.util.Map;
+
+// Dönüşüm ölçümleri için dinleyici; JsonConversionEngine.Builder.listener ile bağlanır.
+// Metotlar dönüşümü yapan thread'de çağrılır, bu yüzden hızlı ve thread-safe olmalıdır.
+// Micrometer gibi bir kayıt sistemine bağlamak için onConversion'da Timer/DistributionSummary,
+// diğerlerinde Counter güncellemek yeterlidir; hazır bir uygulama için ConversionMetrics.
+public interface ConversionListener {
+
+    // Her convert/apply çağrısının sonunda bir kez
+    default void onConversion(Event event) {
+    }
+
+    // Girdi JSON olarak okunamadı; hata ayrıca çağırana fırlatılır
+    default void onParseFailure(Exception error) {
+    }
+
+    // JsonPreProcessor'da bir customFormatters yol kalıbı bir alana uygulandı
+    default void onPatternMatch(String pattern) {
+    }
+
+    // ruleHits: kural adı (ya da Rule.hitNames) -> dönüştürdüğü değer sayısı (DATE_ARRAY, DATE_STRING, DECIMAL,
+    // INTEGER, JsonPreProcessor'da formatter tipine göre FORMATTERS_DATE, FORMATTERS_DECIMAL, FORMATTERS_UNMATCHED...)
+    // planFallbacks: ConversionPlan'daki kuralın sonuç vermediği, tüm kuralların denendiği değer sayısı
+    // inputLength/outputLength: byte[], ByteBuffer, stream ve dosya girdilerinde bayt, String ve Reader/Writer
+    // girdilerinde karakter sayısı (UTF-8 bayt sayısı değil); ağaç (apply) çağrılarında ve bilinmediğinde -1
+    record Event(long nanos, long nodesVisited, Map<String, Long> ruleHits, long planFallbacks,
+                 long inputLength, long outputLength) {
+    }
+}
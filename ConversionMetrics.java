@@ -0,0 +1,134 @@
+package com.ykl.leasing.ngla.system.common.util;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Ölçümleri bellekte toplayan ConversionListener. Sayaçlar LongAdder olduğu için çok thread'li
+// kullanımda çekişme yaratmaz. Gecikme, 2'nin kuvveti sınırlı kovalardan oluşan bir histogramda tutulur:
+// kova 0 < 1 µs, kova i [2^(i-1), 2^i) µs, son kova ve üstü.
+public final class ConversionMetrics implements ConversionListener {
+
+    static final int LATENCY_BUCKETS = 32;
+
+    private final LongAdder conversions = new LongAdder();
+    private final LongAdder parseFailures = new LongAdder();
+    private final LongAdder nodesVisited = new LongAdder();
+    private final LongAdder planFallbacks = new LongAdder();
+    private final LongAdder inputLength = new LongAdder();
+    private final LongAdder outputLength = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder[] latency = new LongAdder[LATENCY_BUCKETS];
+    private final Map<String, LongAdder> ruleHits = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> patternMatches = new ConcurrentHashMap<>();
+
+    public ConversionMetrics() {
+        for (int i = 0; i < latency.length; i++) {
+            latency[i] = new LongAdder();
+        }
+    }
+
+    @Override
+    public void onConversion(Event event) {
+        conversions.increment();
+        nodesVisited.add(event.nodesVisited());
+        planFallbacks.add(event.planFallbacks());
+        if (event.inputLength() > 0) {
+            inputLength.add(event.inputLength());
+        }
+        if (event.outputLength() > 0) {
+            outputLength.add(event.outputLength());
+        }
+        totalNanos.add(event.nanos());
+        maxNanos.accumulate(event.nanos());
+        latency[bucket(event.nanos())].increment();
+        for (Map.Entry<String, Long> hit : event.ruleHits().entrySet()) {
+            if (hit.getValue() > 0) {
+                ruleHits.computeIfAbsent(hit.getKey(), name -> new LongAdder()).add(hit.getValue());
+            }
+        }
+    }
+
+    @Override
+    public void onParseFailure(Exception error) {
+        parseFailures.increment();
+    }
+
+    @Override
+    public void onPatternMatch(String pattern) {
+        patternMatches.computeIfAbsent(pattern, key -> new LongAdder()).increment();
+    }
+
+    // Anlık görüntü; sayaçlar okunurken güncellenmeye devam edebilir
+    public Snapshot snapshot() {
+        long[] buckets = new long[LATENCY_BUCKETS];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = latency[i].sum();
+        }
+        return new Snapshot(conversions.sum(), parseFailures.sum(), nodesVisited.sum(), planFallbacks.sum(),
+                inputLength.sum(), outputLength.sum(), totalNanos.sum(), maxNanos.get(), buckets,
+                sums(ruleHits), sums(patternMatches));
+    }
+
+    public void reset() {
+        conversions.reset();
+        parseFailures.reset();
+        nodesVisited.reset();
+        planFallbacks.reset();
+        inputLength.reset();
+        outputLength.reset();
+        totalNanos.reset();
+        maxNanos.reset();
+        for (LongAdder bucket : latency) {
+            bucket.reset();
+        }
+        ruleHits.clear();
+        patternMatches.clear();
+    }
+
+    // inputLength/outputLength: Event'lerdeki uzunlukların toplamı (bkz. ConversionListener.Event)
+    public record Snapshot(long conversions, long parseFailures, long nodesVisited, long planFallbacks,
+                           long inputLength, long outputLength, long totalNanos, long maxNanos, long[] latencyBuckets,
+                           Map<String, Long> ruleHits, Map<String, Long> patternMatches) {
+
+        // Yüzdelik dilimin düştüğü kovanın üst sınırı (ns); ölçüm yoksa 0
+        public long percentileNanos(double percentile) {
+            long total = Arrays.stream(latencyBuckets).sum();
+            if (total == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(total * percentile / 100.0);
+            long seen = 0;
+            for (int i = 0; i < latencyBuckets.length; i++) {
+                seen += latencyBuckets[i];
+                if (seen >= Math.max(rank, 1)) {
+                    return Math.min(upperBoundNanos(i), maxNanos);
+                }
+            }
+            return maxNanos;
+        }
+
+        public long meanNanos() {
+            return conversions == 0 ? 0 : totalNanos / conversions;
+        }
+    }
+
+    static int bucket(long nanos) {
+        long micros = nanos / 1000;
+        return Math.min(LATENCY_BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+    }
+
+    static long upperBoundNanos(int bucket) {
+        return (1L << bucket) * 1000;
+    }
+
+    private static Map<String, Long> sums(Map<String, LongAdder> counters) {
+        Map<String, Long> result = new TreeMap<>();
+        counters.forEach((key, counter) -> result.put(key, counter.sum()));
+        return result;
+    }
+}
@@ -0,0 +1,135 @@
+package com.ykl.leasing.ngla.system.common.util;
+
+import com.fasterxml.jackson.databind.node.JsonNodeType;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Bilinen bir belge şekli için yol -> kural adı planı. Plana sahip motor bir yolda sadece plandaki kuralı dener,
+// NONE olan yollarda hiç kural denemez; böylece her alan için tarih/sayı tespiti tekrar yapılmaz.
+// Yollar motorun ürettiği biçimdedir: alanlar noktayla ayrılır, dizi elemanları "*" ile gösterilir (ör. "rows.*.date").
+//
+// İki şekilde oluşturulur:
+// - JsonConversionEngine.learnPlan(örnekler...): örnek belgeler tüm kurallarla dolaşılır, her yolda hangi kuralın
+//   uygulandığı ve değerin tipi (sayılarda tam sayı/ondalıklı ayrımıyla) kaydedilir. Tip tutmazsa ya da kural
+//   sonuç vermezse tüm kurallar denenir.
+//   Örneklerde farklı sonuç veren yollar plandan çıkarılır. Öğrenilen plan örneğe güvenir: örnekte tarih olmayan
+//   bir metin alanına sonraki belgelerde de kural uygulanmaz, bu yüzden örnekler gerçek veriyi temsil etmelidir.
+// - builder().path(yol, kural adı): tanımlanmış planlarda tip kontrolü yapılmaz; planda olmayan yollarda tüm kurallar denenir.
+//
+// Plan immutable'dır; JsonConversionEngine.withPlan ile motora bağlanır.
+public final class ConversionPlan {
+
+    // Bu yoldaki değerlere kural uygulanmaz (alt alanlar yine dolaşılır)
+    public static final String NONE = "NONE";
+
+    final Node root;
+
+    ConversionPlan(Node root) {
+        this.root = root;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    // Kararlı yolların yol -> kural adı listesi; kaydedilip builder ile tekrar kurulabilir
+    public Map<String, String> paths() {
+        Map<String, String> paths = new LinkedHashMap<>();
+        collect(root, "", paths);
+        return paths;
+    }
+
+    @Override
+    public String toString() {
+        return paths().toString();
+    }
+
+    private static void collect(Node node, String path, Map<String, String> paths) {
+        if (node.rule != null) {
+            paths.put(path, node.rule);
+        }
+        if (node.fields != null) {
+            node.fields.forEach((key, child) -> collect(child, path.isEmpty() ? key : path + "." + key, paths));
+        }
+        if (node.items != null) {
+            collect(node.items, path + ".*", paths);
+        }
+    }
+
+    // Plan ağacının bir düğümü. rule null ise bu yol için karar yoktur (tüm kurallar denenir),
+    // type null ise tip kontrolü yapılmaz. Sayılarda tam sayı/ondalıklı ayrımı da tutulur (floatingPoint);
+    // örnekte tam sayı olan bir tutar sonraki belgede ondalıklı gelirse tüm kurallar denenir.
+    static final class Node {
+        String rule;
+        JsonNodeType type;
+        boolean floatingPoint;
+        private boolean unstable;
+        Map<String, Node> fields;
+        Node items;
+
+        Node field(String key) {
+            if (fields == null) {
+                fields = new LinkedHashMap<>();
+            }
+            return fields.computeIfAbsent(key, k -> new Node());
+        }
+
+        Node items() {
+            if (items == null) {
+                items = new Node();
+            }
+            return items;
+        }
+
+        // Öğrenme sırasında bir gözlemi ekler; önceki gözlemle çelişirse yol kararsız sayılır
+        void observe(String observedRule, JsonNodeType observedType, boolean observedFloatingPoint) {
+            if (unstable) {
+                return;
+            }
+            if (rule == null) {
+                rule = observedRule;
+                type = observedType;
+                floatingPoint = observedFloatingPoint;
+            } else if (!rule.equals(observedRule) || type != observedType || floatingPoint != observedFloatingPoint) {
+                unstable = true;
+                rule = null;
+                type = null;
+                floatingPoint = false;
+            }
+        }
+    }
+
+    public static final class Builder {
+
+        private final Map<String, String> paths = new LinkedHashMap<>();
+
+        private Builder() {
+        }
+
+        // Kök için boş yol ("") kullanılır
+        public Builder path(String path, String rule) {
+            paths.put(path, rule);
+            return this;
+        }
+
+        public Builder paths(Map<String, String> paths) {
+            this.paths.putAll(paths);
+            return this;
+        }
+
+        public ConversionPlan build() {
+            Node root = new Node();
+            paths.forEach((path, rule) -> {
+                Node node = root;
+                if (!path.isEmpty()) {
+                    for (String part : path.split("\\.", -1)) {
+                        node = part.equals("*") ? node.items() : node.field(part);
+                    }
+                }
+                node.rule = rule;
+            });
+            return new ConversionPlan(root);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.ykl.leasing.ngla.system.common.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.function.Function;
+
+// JsonConversionEngine için hazır kurallar
+public final class ConversionRules {
+
+    private static final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+    private static final DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
+
+    private ConversionRules() {
+    }
+
+    // [yyyy,MM,dd] -> dd.MM.yyyy, [yyyy,MM,dd,HH,mm] -> dd.MM.yyyy HH:mm
+    // invalidAsText true ise geçersiz tarih dizileri (ör. [2024,13,1]) metin olarak yazılır, false ise dokunulmaz
+    public static JsonConversionEngine.Rule dateArrays(boolean invalidAsText) {
+        return rule("DATE_ARRAY", value -> {
+            if (!isDateArray(value)) {
+                return null;
+            }
+            try {
+                int year = value.get(0).asInt();
+                int month = value.get(1).asInt();
+                int day = value.get(2).asInt();
+                if (value.size() == 3) {
+                    return TextNode.valueOf(LocalDate.of(year, month, day).format(dateFormatter));
+                }
+                LocalDateTime dateTime = LocalDateTime.of(year, month, day, value.get(3).asInt(), value.get(4).asInt());
+                return TextNode.valueOf(dateTime.format(dateTimeFormatter));
+            } catch (DateTimeException e) {
+                return invalidAsText ? TextNode.valueOf(value.toString()) : null;
+            }
+        });
+    }
+
+    // ISO tarih metinleri (yyyy-MM-dd, yyyy-MM-ddTHH:mm[:ss[.S]], offset'li hali) -> dd.MM.yyyy [HH:mm]
+    public static JsonConversionEngine.Rule dateStrings() {
+        return rule("DATE_STRING", value -> {
+            if (!value.isTextual()) {
+                return null;
+            }
+            String text = value.asText();
+            DateStringShape shape = DateStringShape.classify(text);
+            if (shape == DateStringShape.NONE) {
+                return null;
+            }
+            if (shape == DateStringShape.EXTENDED_YEAR) {
+                return extendedYearDate(text);
+            }
+            try {
+                if (shape.isIsoLocalDate()) {
+                    return TextNode.valueOf(LocalDate.parse(text).format(dateFormatter));
+                } else if (shape.isIsoLocalDateTime()) {
+                    return TextNode.valueOf(LocalDateTime.parse(text).format(dateTimeFormatter));
+                } else if (shape == DateStringShape.ISO_OFFSET_DATE_TIME) {
+                    return TextNode.valueOf(OffsetDateTime.parse(text).format(dateTimeFormatter));
+                }
+            } catch (DateTimeException ignored) {
+                // Şekli uyan ama geçersiz tarih (ör. 2024-02-30)
+            }
+            return null;
+        });
+    }
+
+    // İşaretli/uzun yıllarda şekil tek parser'a indirgenmez; eski sırayla ISO parser'ları denenir
+    private static JsonNode extendedYearDate(String text) {
+        try {
+            return TextNode.valueOf(LocalDate.parse(text).format(dateFormatter));
+        } catch (DateTimeException ignored) {
+        }
+        try {
+            return TextNode.valueOf(LocalDateTime.parse(text).format(dateTimeFormatter));
+        } catch (DateTimeException ignored) {
+        }
+        try {
+            return TextNode.valueOf(OffsetDateTime.parse(text).format(dateTimeFormatter));
+        } catch (DateTimeException ignored) {
+        }
+        return null;
+    }
+
+    // Ondalıklı sayılar (double, float, BigDecimal) verilen fonksiyonla metne çevrilir
+    public static JsonConversionEngine.Rule decimals(Function<JsonNode, String> formatter) {
+        return rule("DECIMAL", value -> value.isFloatingPointNumber() ? TextNode.valueOf(formatter.apply(value)) : null);
+    }
+
+    // Tam sayılar formatsız metne çevrilir
+    public static JsonConversionEngine.Rule integersAsText() {
+        return rule("INTEGER", value -> value.isIntegralNumber() ? TextNode.valueOf(value.asText()) : null);
+    }
+
+    public static JsonConversionEngine.Rule rule(String name, Function<JsonNode, JsonNode> function) {
+        return new JsonConversionEngine.Rule() {
+            @Override
+            public JsonNode apply(JsonNode value, String path) {
+                return function.apply(value);
+            }
+
+            @Override
+            public String name() {
+                return name;
+            }
+        };
+    }
+
+    private static boolean isDateArray(JsonNode value) {
+        int size = value.size();
+        if (!value.isArray() || (size != 3 && size != 5)) {
+            return false;
+        }
+        for (JsonNode item : value) {
+            if (!item.isInt()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,209 @@
+package com.ykl.leasing.ngla.system.common.util;
+
+// Bir metnin hangi tarih biçiminde yazıldığını tek geçişte, parse denemeden ve exception fırlatmadan belirler.
+// Sadece şekle (rakam/ayraç dizilimi ve kaba aralık kontrolü) bakar; NONE dışındaki sonuçlar yine de
+// ilgili formatter ile parse edilmelidir (ör. 31.02.2024 şekil olarak geçerlidir). İşaretli ya da 4 haneden uzun
+// yıllar (+12024-01-05, 05.01.+12024) EXTENDED_YEAR döner; çağıran bunları eski JDK parse denemelerine bırakır.
+public enum DateStringShape {
+
+    ISO_DATE,                 // yyyy-MM-dd
+    ISO_DATE_TIME_MINUTES,    // yyyy-MM-ddTHH:mm
+    ISO_DATE_TIME_SECONDS,    // yyyy-MM-ddTHH:mm:ss
+    ISO_DATE_TIME_FRACTION,   // yyyy-MM-ddTHH:mm:ss.SSSSSSSSS (0-9 hane)
+    ISO_OFFSET_DATE_TIME,     // yyyy-MM-ddTHH:mm[:ss[.S...]] + Z / +HH / +HH:mm / +HH:mm:ss
+    SPACED_DATE_TIME_MINUTES, // yyyy-MM-dd HH:mm
+    SPACED_DATE_TIME_SECONDS, // yyyy-MM-dd HH:mm:ss
+    DOTTED_DATE,              // dd.MM.yyyy
+    DOTTED_DATE_TIME,         // dd.MM.yyyy HH:mm
+    EXTENDED_YEAR,            // ±yyyyy-... ya da dd.MM.±yyyyy...; şekli tek parser'a indirgenmez
+    NONE;
+
+    public boolean isIsoLocalDate() {
+        return this == ISO_DATE;
+    }
+
+    public boolean isIsoLocalDateTime() {
+        return this == ISO_DATE_TIME_MINUTES || this == ISO_DATE_TIME_SECONDS || this == ISO_DATE_TIME_FRACTION;
+    }
+
+    public static DateStringShape classify(String text) {
+        int length = text.length();
+        // En kısa aday 10 (yyyy-MM-dd), en uzun aday yyyy-MM-ddTHH:mm:ss.SSSSSSSSS+HH:mm:ss (38)
+        if (length < 10) {
+            return NONE;
+        }
+        if (length <= 38) {
+            if (text.charAt(2) == '.') {
+                DateStringShape shape = classifyDotted(text, length);
+                if (shape != NONE) {
+                    return shape;
+                }
+            } else if (text.charAt(4) == '-') {
+                return classifyIso(text, length);
+            }
+        }
+        return hasExtendedYear(text, length) ? EXTENDED_YEAR : NONE;
+    }
+
+    // Yıl işaretliyse ya da 4 haneden uzunsa; ISO'da yıldan sonra '-', noktalıda metin sonu ya da boşluk gelir.
+    // En uzun aday ±(10 hane)-MM-ddTHH:mm:ss.SSSSSSSSS+HH:mm:ss (45)
+    private static boolean hasExtendedYear(String text, int length) {
+        if (length > 45) {
+            return false;
+        }
+        boolean dotted = text.charAt(2) == '.';
+        if (dotted && text.charAt(5) != '.') {
+            return false;
+        }
+        int start = dotted ? 6 : 0;
+        char first = text.charAt(start);
+        boolean signed = first == '+' || first == '-';
+        int pos = signed ? start + 1 : start;
+        int digitsStart = pos;
+        while (pos < length && isDigit(text.charAt(pos))) {
+            pos++;
+        }
+        int digits = pos - digitsStart;
+        if (digits < (signed ? 4 : 5) || digits > 10) {
+            return false;
+        }
+        if (dotted) {
+            return pos == length || text.charAt(pos) == ' ';
+        }
+        return pos < length && text.charAt(pos) == '-';
+    }
+
+    private static DateStringShape classifyDotted(String text, int length) {
+        if (!isDate(text, 6, 3, 0) || text.charAt(5) != '.') {
+            return NONE;
+        }
+        if (length == 10) {
+            return DOTTED_DATE;
+        }
+        if (length == 16 && text.charAt(10) == ' ' && isTime(text, 11)) {
+            return DOTTED_DATE_TIME;
+        }
+        return NONE;
+    }
+
+    private static DateStringShape classifyIso(String text, int length) {
+        if (!isDate(text, 0, 5, 8) || text.charAt(7) != '-') {
+            return NONE;
+        }
+        if (length == 10) {
+            return ISO_DATE;
+        }
+        if (length < 16 || !isTime(text, 11)) {
+            return NONE;
+        }
+        char separator = text.charAt(10);
+        if (separator == ' ') {
+            if (length == 16) {
+                return SPACED_DATE_TIME_MINUTES;
+            }
+            return length == 19 && isSeconds(text, 16) ? SPACED_DATE_TIME_SECONDS : NONE;
+        }
+        if (separator != 'T') {
+            return NONE;
+        }
+        if (length == 16) {
+            return ISO_DATE_TIME_MINUTES;
+        }
+
+        int pos = 16;
+        boolean fraction = false;
+        if (text.charAt(pos) == ':') {
+            if (length < 19 || !isSeconds(text, 16)) {
+                return NONE;
+            }
+            pos = 19;
+            if (pos < length && text.charAt(pos) == '.') {
+                int start = ++pos;
+                while (pos < length && isDigit(text.charAt(pos))) {
+                    pos++;
+                }
+                int digits = pos - start;
+                if (digits > 9) {
+                    return NONE;
+                }
+                fraction = true;
+            }
+        }
+        if (pos == length) {
+            return fraction ? ISO_DATE_TIME_FRACTION : (pos == 19 ? ISO_DATE_TIME_SECONDS : ISO_DATE_TIME_MINUTES);
+        }
+        return isOffset(text, pos, length) ? ISO_OFFSET_DATE_TIME : NONE;
+    }
+
+    // Yıl, ay ve gün başlangıç indeksleri verilen tarih kısmı (ayraçlar çağıranda kontrol edilir)
+    private static boolean isDate(String text, int yearIndex, int monthIndex, int dayIndex) {
+        return isDigits(text, yearIndex, 4)
+                && isInRange(text, monthIndex, 1, 12)
+                && isInRange(text, dayIndex, 1, 31);
+    }
+
+    // HH:mm; ofPattern parser'ları (SMART) 24:00'ı ertesi günün başlangıcı sayar, ISO parser'ları reddeder
+    private static boolean isTime(String text, int index) {
+        if (text.charAt(index + 2) != ':') {
+            return false;
+        }
+        if (text.startsWith("24", index)) {
+            return text.startsWith("00", index + 3);
+        }
+        return isInRange(text, index, 0, 23) && isInRange(text, index + 3, 0, 59);
+    }
+
+    // :ss
+    private static boolean isSeconds(String text, int index) {
+        return text.charAt(index) == ':' && isInRange(text, index + 1, 0, 59);
+    }
+
+    // Z, +HH, +HH:mm veya +HH:mm:ss
+    private static boolean isOffset(String text, int index, int length) {
+        char sign = text.charAt(index);
+        if (sign == 'Z') {
+            return index + 1 == length;
+        }
+        if (sign != '+' && sign != '-') {
+            return false;
+        }
+        int remaining = length - index - 1;
+        if (remaining != 2 && remaining != 5 && remaining != 8) {
+            return false;
+        }
+        int pos = index + 1;
+        if (!isInRange(text, pos, 0, 18)) {
+            return false;
+        }
+        if (remaining == 2) {
+            return true;
+        }
+        if (text.charAt(pos + 2) != ':' || !isInRange(text, pos + 3, 0, 59)) {
+            return false;
+        }
+        return remaining == 5 || isSeconds(text, pos + 5);
+    }
+
+    private static boolean isInRange(String text, int index, int min, int max) {
+        char high = text.charAt(index);
+        char low = text.charAt(index + 1);
+        if (!isDigit(high) || !isDigit(low)) {
+            return false;
+        }
+        int value = (high - '0') * 10 + (low - '0');
+        return value >= min && value <= max;
+    }
+
+    private static boolean isDigits(String text, int index, int count) {
+        for (int i = index; i < index + count; i++) {
+            if (!isDigit(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -0,0 +1,189 @@
+package com.ykl.leasing.ngla.system.common.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
+// "#,##0.00" kalıbı için DecimalFormat'ın yerine geçen hızlı formatter (ör. tr-TR: 1.234.567,89 TL).
+// Sayı long/BigDecimal halinden tam olarak HALF_UP ile 2 haneye yuvarlanır ve doğrudan StringBuilder'a yazılır;
+// DecimalFormat'ın DigitList/FieldPosition/StringBuffer maliyeti yoktur. Immutable ve thread-safe'dir.
+//
+// DecimalFormat'tan farkları: yuvarlama HALF_EVEN değil HALF_UP'tır, sıfıra yuvarlanan negatif değerler "-0,00"
+// değil "0,00" yazılır. Başka kalıplar için DecimalFormat kullanılmalıdır (bkz. forPattern).
+public final class FixedDecimalFormat {
+
+    // "#,##0.00" tr-TR
+    public static final FixedDecimalFormat TR = of(new Locale("tr", "TR"), "");
+    // "#,##0.00 'TL'" tr-TR
+    public static final FixedDecimalFormat TR_TL = of(new Locale("tr", "TR"), " TL");
+
+    private static final long[] POWERS_OF_TEN = new long[19];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private final char zeroDigit;
+    private final char minusSign;
+    private final char decimalSeparator;
+    private final char groupingSeparator;
+    private final boolean grouping;
+    private final String suffix;
+
+    private FixedDecimalFormat(char zeroDigit, char minusSign, char decimalSeparator, char groupingSeparator,
+                               boolean grouping, String suffix) {
+        this.zeroDigit = zeroDigit;
+        this.minusSign = minusSign;
+        this.decimalSeparator = decimalSeparator;
+        this.groupingSeparator = groupingSeparator;
+        this.grouping = grouping;
+        this.suffix = suffix;
+    }
+
+    // Ayraçlar locale'in DecimalFormatSymbols'ünden alınır
+    public static FixedDecimalFormat of(Locale locale, String suffix) {
+        return of(DecimalFormatSymbols.getInstance(locale), suffix);
+    }
+
+    public static FixedDecimalFormat of(DecimalFormatSymbols symbols, String suffix) {
+        return new FixedDecimalFormat(symbols.getZeroDigit(), symbols.getMinusSign(), symbols.getDecimalSeparator(),
+                symbols.getGroupingSeparator(), true, suffix);
+    }
+
+    // Binlik ayraçsız "0.00" (ör. BigDecimal.setScale(2, HALF_UP).toString() + " TL" yerine)
+    public static FixedDecimalFormat ungrouped(char decimalSeparator, String suffix) {
+        return new FixedDecimalFormat('0', '-', decimalSeparator, ',', false, suffix);
+    }
+
+    // Kalıp "#,##0.00" ya da "###,##0.00" ise (sonunda " 'TL'" olabilir) hızlı formatter, değilse null
+    public static FixedDecimalFormat forPattern(String pattern, Locale locale) {
+        String number = pattern;
+        String suffix = "";
+        if (pattern.endsWith(" 'TL'")) {
+            number = pattern.substring(0, pattern.length() - 5);
+            suffix = " TL";
+        }
+        if (number.equals("#,##0.00") || number.equals("###,##0.00")) {
+            return of(locale, suffix);
+        }
+        return null;
+    }
+
+    public String format(BigDecimal value) {
+        return appendTo(new StringBuilder(32), value).toString();
+    }
+
+    // unscaled * 10^-scale (ör. kuruş cinsinden tutar için scale 2)
+    public String format(long unscaled, int scale) {
+        return appendTo(new StringBuilder(32), unscaled, scale).toString();
+    }
+
+    // Double'ın en kısa ondalık gösterimi (BigDecimal.valueOf) yuvarlanır; 2.675 -> 2,68
+    public String format(double value) {
+        return format(BigDecimal.valueOf(value));
+    }
+
+    // Sayı düğümü; tam sayılar long olarak, diğerleri decimalValue ile hassasiyet kaybı olmadan formatlanır.
+    // NaN/Infinity olduğu gibi metin olarak döner.
+    public String format(JsonNode number) {
+        if (number.isIntegralNumber() && number.canConvertToLong()) {
+            return format(number.longValue(), 0);
+        }
+        if ((number.isDouble() || number.isFloat()) && !Double.isFinite(number.doubleValue())) {
+            return number.asText();
+        }
+        return format(number.decimalValue());
+    }
+
+    public StringBuilder appendTo(StringBuilder out, BigDecimal value) {
+        if (value.precision() <= 18) {
+            return appendTo(out, value.unscaledValue().longValue(), value.scale());
+        }
+        BigInteger cents = value.setScale(2, RoundingMode.HALF_UP).unscaledValue();
+        if (cents.bitLength() < Long.SIZE - 1) {
+            return appendCents(out, cents.longValue());
+        }
+        if (cents.signum() < 0) {
+            out.append(minusSign);
+        }
+        String digits = cents.abs().toString();
+        int integerDigits = digits.length() - 2;
+        for (int i = 0; i < integerDigits; i++) {
+            appendDigit(out, digits.charAt(i) - '0');
+            appendGrouping(out, integerDigits - 1 - i);
+        }
+        out.append(decimalSeparator);
+        appendDigit(out, digits.charAt(integerDigits) - '0');
+        appendDigit(out, digits.charAt(integerDigits + 1) - '0');
+        return out.append(suffix);
+    }
+
+    public StringBuilder appendTo(StringBuilder out, long unscaled, int scale) {
+        long cents;
+        if (scale == 2) {
+            cents = unscaled;
+        } else if (scale < 2) {
+            int shift = 2 - scale;
+            long multiplier = shift < POWERS_OF_TEN.length ? POWERS_OF_TEN[shift] : 0;
+            if (multiplier == 0 || unscaled > Long.MAX_VALUE / multiplier || unscaled < -Long.MAX_VALUE / multiplier) {
+                return appendTo(out, BigDecimal.valueOf(unscaled, scale).setScale(2));
+            }
+            cents = unscaled * multiplier;
+        } else {
+            int drop = scale - 2;
+            if (drop >= POWERS_OF_TEN.length) {
+                return appendTo(out, BigDecimal.valueOf(unscaled, scale).setScale(2, RoundingMode.HALF_UP));
+            }
+            long divisor = POWERS_OF_TEN[drop];
+            cents = unscaled / divisor;
+            long remainder = Math.abs(unscaled % divisor);
+            // HALF_UP: kalan, bölenin yarısına eşit ya da büyükse sıfırdan uzağa
+            if (remainder >= divisor - remainder) {
+                cents += unscaled < 0 ? -1 : 1;
+            }
+        }
+        return appendCents(out, cents);
+    }
+
+    private StringBuilder appendCents(StringBuilder out, long cents) {
+        if (cents == Long.MIN_VALUE) {
+            return appendTo(out, BigDecimal.valueOf(cents, 2));
+        }
+        if (cents < 0) {
+            out.append(minusSign);
+            cents = -cents;
+        }
+        long integer = cents / 100;
+        int fraction = (int) (cents % 100);
+        int digits = 1;
+        while (digits < POWERS_OF_TEN.length && integer >= POWERS_OF_TEN[digits]) {
+            digits++;
+        }
+        for (int position = digits - 1; position >= 0; position--) {
+            appendDigit(out, (int) (integer / POWERS_OF_TEN[position] % 10));
+            appendGrouping(out, position);
+        }
+        out.append(decimalSeparator);
+        appendDigit(out, fraction / 10);
+        appendDigit(out, fraction % 10);
+        return out.append(suffix);
+    }
+
+    private void appendDigit(StringBuilder out, int digit) {
+        out.append((char) (zeroDigit + digit));
+    }
+
+    // position: yazılan hanenin sağındaki tam sayı hanesi sayısı
+    private void appendGrouping(StringBuilder out, int position) {
+        if (grouping && position > 0 && position % 3 == 0) {
+            out.append(groupingSeparator);
+        }
+    }
+}
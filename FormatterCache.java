@@ -0,0 +1,59 @@
+package com.ykl.leasing.ngla.system.common.util;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// (tip, pattern, locale) bazında formatter önbelleği. LRU ile sınırlıdır.
+// DateTimeFormatter immutable olduğu için paylaşılır; DecimalFormat thread-safe olmadığından
+// her thread kendi kopyasını ThreadLocal üzerinden alır.
+public final class FormatterCache {
+
+    private static final int MAX_ENTRIES = 256;
+
+    private static final Map<Key, Object> cache = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Object> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    private FormatterCache() {
+    }
+
+    public static DateTimeFormatter dateTimeFormatter(String pattern, Locale locale) {
+        Key key = new Key(Kind.DATE_TIME, pattern, locale);
+        synchronized (cache) {
+            Object cached = cache.get(key);
+            if (cached == null) {
+                cached = DateTimeFormatter.ofPattern(pattern, locale);
+                cache.put(key, cached);
+            }
+            return (DateTimeFormatter) cached;
+        }
+    }
+
+    // Dönen ThreadLocal saklanıp tekrar kullanılmalı; get() çağıran thread'e ait örneği verir
+    @SuppressWarnings("unchecked")
+    public static ThreadLocal<DecimalFormat> decimalFormat(String pattern, Locale locale) {
+        Key key = new Key(Kind.DECIMAL, pattern, locale);
+        synchronized (cache) {
+            Object cached = cache.get(key);
+            if (cached == null) {
+                // Pattern hatası burada, çağıran thread'de fırlasın
+                DecimalFormat prototype = new DecimalFormat(pattern, DecimalFormatSymbols.getInstance(locale));
+                cached = ThreadLocal.withInitial(() -> (DecimalFormat) prototype.clone());
+                cache.put(key, cached);
+            }
+            return (ThreadLocal<DecimalFormat>) cached;
+        }
+    }
+
+    private enum Kind { DATE_TIME, DECIMAL }
+
+    private record Key(Kind kind, String pattern, Locale locale) {
+    }
+}
@@ -0,0 +1,200 @@
+package com.ykl.leasing.ngla.system.common.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// customFormatters haritasının bir kez derlenmiş hali. Anahtarlar "a.b.*.c" gibi yol kalıplarıdır,
+// '*' nokta dahil herhangi bir karakter dizisiyle eşleşir; ilk eşleşen kural (haritanın sırasıyla) kazanır.
+// Thread-safe'dir, çağrılar arasında paylaşılabilir.
+public final class FormatterRules {
+
+    public static final FormatterRules EMPTY = new FormatterRules(Collections.emptyList());
+
+    // Belgeler aynı yolları tekrar tekrar ürettiği için sonuçlar yol bazında saklanır
+    private static final int MAX_CACHED_PATHS = 4096;
+    private static final Object NO_MATCH = new Object();
+    static final int MAX_CACHED_RULE_SETS = 64;
+
+    private static final Map<RuleSetKey, FormatterRules> compiledCache = new ConcurrentHashMap<>();
+
+    private final List<Rule> rules;
+    private final Map<String, Rule> exactRules = new HashMap<>();
+    private final List<Rule> wildcardRules = new ArrayList<>();
+    private final Map<String, Object> matchCache = new ConcurrentHashMap<>();
+    // cached() önbelleğindeki son kullanım zamanı (System.nanoTime)
+    private volatile long lastUsed;
+    // JsonPreProcessor'ın bu kurallarla kurduğu motor
+    volatile JsonConversionEngine preProcessorEngine;
+
+    private FormatterRules(List<Rule> rules) {
+        this.rules = rules;
+        for (Rule rule : rules) {
+            if (rule.pieces.length == 1) {
+                exactRules.putIfAbsent(rule.pattern, rule);
+            } else {
+                wildcardRules.add(rule);
+            }
+        }
+    }
+
+    public static FormatterRules compile(Map<String, String> customFormatters) {
+        if (customFormatters == null || customFormatters.isEmpty()) {
+            return EMPTY;
+        }
+        List<Rule> rules = new ArrayList<>(customFormatters.size());
+        for (Map.Entry<String, String> entry : customFormatters.entrySet()) {
+            rules.add(new Rule(rules.size(), entry.getKey(), entry.getValue()));
+        }
+        return new FormatterRules(rules);
+    }
+
+    // Aynı haritayla tekrar tekrar yapılan çağrılar için derlenmiş kurallar (ve yol eşleşme önbellekleri) saklanır.
+    // Anahtar, eşleşme sırası önemli olduğu için haritanın sıralı kopyasıdır.
+    // Bulunan kayıt kilitsiz okunur, sadece son kullanım zamanı güncellenir. Kilit yalnızca yeni kayıt eklenirken
+    // alınır; sınır aşılınca en uzun süredir kullanılmayan kayıt atılır (LRU).
+    public static FormatterRules cached(Map<String, String> customFormatters) {
+        if (customFormatters == null || customFormatters.isEmpty()) {
+            return EMPTY;
+        }
+        RuleSetKey key = new RuleSetKey(customFormatters);
+        FormatterRules rules = compiledCache.get(key);
+        if (rules == null) {
+            // Derleme kilit dışında yapılır; aynı haritayı aynı anda derleyen thread'lerden ilk yazanınki kullanılır
+            FormatterRules compiled = compile(customFormatters);
+            synchronized (compiledCache) {
+                rules = compiledCache.putIfAbsent(key, compiled);
+                if (rules == null) {
+                    rules = compiled;
+                    if (compiledCache.size() > MAX_CACHED_RULE_SETS) {
+                        evictLeastRecentlyUsed(key);
+                    }
+                }
+            }
+        }
+        rules.lastUsed = System.nanoTime();
+        return rules;
+    }
+
+    private static void evictLeastRecentlyUsed(RuleSetKey keep) {
+        RuleSetKey eldest = null;
+        long eldestUse = Long.MAX_VALUE;
+        for (Map.Entry<RuleSetKey, FormatterRules> entry : compiledCache.entrySet()) {
+            if (!entry.getKey().equals(keep) && entry.getValue().lastUsed - eldestUse < 0) {
+                eldest = entry.getKey();
+                eldestUse = entry.getValue().lastUsed;
+            }
+        }
+        if (eldest != null) {
+            compiledCache.remove(eldest);
+        }
+    }
+
+    public boolean isEmpty() {
+        return rules.isEmpty();
+    }
+
+    // Yola uyan ilk kuralın formatter tanımını, yoksa null döner
+    public FormatterSpec match(String path) {
+        Rule rule = matchingRule(path);
+        return rule != null ? rule.spec : null;
+    }
+
+    // Yola uyan ilk kuralın kalıbı (customFormatters anahtarı), yoksa null
+    public String matchingPattern(String path) {
+        Rule rule = matchingRule(path);
+        return rule != null ? rule.pattern : null;
+    }
+
+    private Rule matchingRule(String path) {
+        if (rules.isEmpty()) {
+            return null;
+        }
+        Object cached = matchCache.get(path);
+        if (cached == null) {
+            Rule rule = findRule(path);
+            cached = rule != null ? rule : NO_MATCH;
+            if (matchCache.size() < MAX_CACHED_PATHS) {
+                matchCache.put(path, cached);
+            }
+        }
+        return cached == NO_MATCH ? null : (Rule) cached;
+    }
+
+    private Rule findRule(String path) {
+        Rule best = exactRules.get(path);
+        for (Rule rule : wildcardRules) {
+            if (best != null && rule.order > best.order) {
+                break;
+            }
+            if (rule.matches(path)) {
+                return rule;
+            }
+        }
+        return best;
+    }
+
+    // Haritanın sıralı anahtar/değer kopyası; tek dizi olduğu için her sorguda entry nesneleri üretilmez
+    private static final class RuleSetKey {
+        private final String[] entries;
+        private final int hash;
+
+        private RuleSetKey(Map<String, String> customFormatters) {
+            entries = new String[customFormatters.size() * 2];
+            int i = 0;
+            for (Map.Entry<String, String> entry : customFormatters.entrySet()) {
+                entries[i++] = entry.getKey();
+                entries[i++] = entry.getValue();
+            }
+            hash = Arrays.hashCode(entries);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof RuleSetKey key && hash == key.hash && Arrays.equals(entries, key.entries);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class Rule {
+        private final int order;
+        private final String pattern;
+        private final FormatterSpec spec;
+        private final String[] pieces;
+
+        private Rule(int order, String pattern, String formatter) {
+            this.order = order;
+            this.pattern = pattern;
+            this.spec = FormatterSpec.parse(formatter);
+            this.pieces = pattern.split("\\*", -1);
+        }
+
+        // '*' parçalarının arasındaki sabit kısımlar sırayla aranır (regex ".*" ile aynı anlam)
+        private boolean matches(String path) {
+            String first = pieces[0];
+            String last = pieces[pieces.length - 1];
+            if (path.length() < first.length() + last.length()
+                    || !path.startsWith(first) || !path.endsWith(last)) {
+                return false;
+            }
+            int from = first.length();
+            int to = path.length() - last.length();
+            for (int i = 1; i < pieces.length - 1; i++) {
+                int found = path.indexOf(pieces[i], from);
+                if (found < 0 || found + pieces[i].length() > to) {
+                    return false;
+                }
+                from = found + pieces[i].length();
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.ykl.leasing.ngla.system.common.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.math.BigDecimal;
+import java.text.DecimalFormat;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+// "TİP|pattern|locale" şeklindeki formatter değerinin ayrıştırılmış hali.
+// Formatter'lar ilk kullanımda FormatterCache'ten alınır ve spec üzerinde tutulur.
+public final class FormatterSpec {
+
+    public enum Type { DATE, DATETIME, DECIMAL, DEFAULT, UNKNOWN }
+
+    private static final Locale DEFAULT_LOCALE = new Locale("tr", "TR");
+
+    private final Type type;
+    private final String pattern;
+    private final Locale locale;
+    private final FixedDecimalFormat fixedDecimalFormat;
+    private DateTimeFormatter dateTimeFormatter;
+    private ThreadLocal<DecimalFormat> decimalFormat;
+
+    private FormatterSpec(Type type, String pattern, Locale locale) {
+        this.type = type;
+        this.pattern = pattern;
+        this.locale = locale;
+        this.fixedDecimalFormat = type == Type.DECIMAL ? FixedDecimalFormat.forPattern(pattern, locale) : null;
+    }
+
+    public static FormatterSpec parse(String formatterValue) {
+        String[] parts = formatterValue.split("\\|", 3);
+        if (parts.length < 2) {
+            return new FormatterSpec(Type.DEFAULT, null, DEFAULT_LOCALE);
+        }
+        String pattern = parts[1].trim();
+        Locale locale = parts.length == 3 ? parseLocale(parts[2].trim()) : DEFAULT_LOCALE;
+        switch (parts[0].trim()) {
+            case "DATE":
+                return new FormatterSpec(Type.DATE, pattern, locale);
+            case "DATETIME":
+                return new FormatterSpec(Type.DATETIME, pattern, locale);
+            case "DECIMAL":
+                return new FormatterSpec(Type.DECIMAL, pattern, locale);
+            default:
+                return new FormatterSpec(Type.UNKNOWN, pattern, locale);
+        }
+    }
+
+    public Type type() {
+        return type;
+    }
+
+    public String pattern() {
+        return pattern;
+    }
+
+    public Locale locale() {
+        return locale;
+    }
+
+    public DateTimeFormatter dateTimeFormatter() {
+        DateTimeFormatter formatter = dateTimeFormatter;
+        if (formatter == null) {
+            formatter = FormatterCache.dateTimeFormatter(pattern, locale);
+            dateTimeFormatter = formatter;
+        }
+        return formatter;
+    }
+
+    // "#,##0.00" kalıbında FixedDecimalFormat (HALF_UP), diğer kalıplarda DecimalFormat kullanılır
+    public String formatDecimal(JsonNode number) {
+        return fixedDecimalFormat != null ? fixedDecimalFormat.format(number) : decimalFormat().format(number.numberValue());
+    }
+
+    public String formatDecimal(BigDecimal number) {
+        return fixedDecimalFormat != null ? fixedDecimalFormat.format(number) : decimalFormat().format(number);
+    }
+
+    // Çağıran thread'e ait DecimalFormat örneği
+    public DecimalFormat decimalFormat() {
+        ThreadLocal<DecimalFormat> format = decimalFormat;
+        if (format == null) {
+            format = FormatterCache.decimalFormat(pattern, locale);
+            decimalFormat = format;
+        }
+        return format.get();
+    }
+
+    private static Locale parseLocale(String localeStr) {
+        String[] parts = localeStr.split("-");
+        return parts.length == 2 ? new Locale(parts[0], parts[1]) : new Locale(localeStr);
+    }
+}
@@ -0,0 +1,449 @@
+package com.ykl.leasing.ngla.system.common.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.BigIntegerNode;
+import com.fasterxml.jackson.databind.node.BooleanNode;
+import com.fasterxml.jackson.databind.node.DecimalNode;
+import com.fasterxml.jackson.databind.node.DoubleNode;
+import com.fasterxml.jackson.databind.node.IntNode;
+import com.fasterxml.jackson.databind.node.LongNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.type.ArrayType;
+import com.fasterxml.jackson.databind.type.CollectionType;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+// JsonConversionEngine kurallarını nesneler ObjectMapper ile serileştirilirken uygulayan Jackson modülü.
+// Nesne -> JSON metni -> ağaç -> dönüşüm -> JSON metni turu yerine çıktı tek seferde yazılır:
+//   ObjectMapper mapper = new ObjectMapper().registerModule(JsonConverter.formattingModule());
+//
+// Kurallar değerin standart serileştirmede alacağı JSON haline uygulanır, sonuç metin üzerinden yapılan dönüşümle
+// aynıdır: tam sayılar IntNode/LongNode, ondalıklı sayılar DoubleNode (BigDecimal hassasiyet kaybı olmadan
+// DecimalNode), LocalDate/LocalDateTime JavaTimeModule'ün WRITE_DATES_AS_TIMESTAMPS dizisi
+// ([yıl, ay, gün, saat, dakika...]).
+//
+// REPLACE modundaki motorlarda String, sayı, LocalDate ve LocalDateTime serializer'ları değiştirilir; Map ve
+// koleksiyon içindeki değerler de dönüştürülür. En fazla MAX_CANDIDATE_ARRAY_SIZE skaler elemanlı koleksiyon ve
+// diziler (ör. List<Integer> tarih) önce bir bütün olarak kurallara gösterilir.
+// FORMATTED_SIBLING modunda bean alanlarının arkasına "<alan>Formatted" yazılır, ham değer mapper'daki
+// serializer'la (ör. JavaTimeModule) yazılır. Metin üzerinden yapılan dönüşümden bilinen farklar:
+//   - kardeş alan nesnenin sonuna değil alanın hemen arkasına yazılır (alanlar ve değerleri aynıdır),
+//   - Map girdileri, JsonNode alanları ve @JsonAppend gibi sanal alanlar için kardeş alan üretilmez,
+//   - BigDecimal alan ölçeği ve hassasiyetiyle yazılır ve biçimlenir (metinde 5.50 -> 5.5, double'a okunur).
+public final class FormattingModule extends SimpleModule {
+
+    private static final long serialVersionUID = 1L;
+
+    private final JsonConversionEngine engine;
+
+    public FormattingModule(JsonConversionEngine engine) {
+        super(FormattingModule.class.getSimpleName());
+        this.engine = engine;
+        if (engine.output() == JsonConversionEngine.Output.REPLACE) {
+            addConverting(String.class, TextNode::valueOf);
+            addConverting(Integer.class, value -> IntNode.valueOf(value));
+            addConverting(Integer.TYPE, value -> IntNode.valueOf(value));
+            addConverting(Long.class, FormattingModule::integralNode);
+            addConverting(Long.TYPE, FormattingModule::integralNode);
+            addConverting(Short.class, value -> IntNode.valueOf(value));
+            addConverting(Short.TYPE, value -> IntNode.valueOf(value));
+            addConverting(Byte.class, value -> IntNode.valueOf(value));
+            addConverting(Byte.TYPE, value -> IntNode.valueOf(value));
+            addConverting(BigInteger.class, FormattingModule::integralNode);
+            addConverting(Double.class, FormattingModule::scalarNode);
+            addConverting(Double.TYPE, FormattingModule::scalarNode);
+            addConverting(Float.class, FormattingModule::scalarNode);
+            addConverting(Float.TYPE, FormattingModule::scalarNode);
+            addConverting(BigDecimal.class, FormattingModule::scalarNode);
+            addConverting(LocalDate.class, FormattingModule::timestampArray);
+            addConverting(LocalDateTime.class, FormattingModule::timestampArray);
+            setSerializerModifier(new CandidateArrayModifier(engine));
+        } else {
+            setSerializerModifier(new SiblingModifier(engine));
+        }
+    }
+
+    public JsonConversionEngine engine() {
+        return engine;
+    }
+
+    private <T> void addConverting(Class<T> type, Function<T, JsonNode> rawValue) {
+        addSerializer(type, new ConvertingSerializer<>(type, engine, rawValue));
+    }
+
+    // REPLACE modu: değerin ham hali kurallardan geçirilip yazılır
+    private static final class ConvertingSerializer<T> extends StdSerializer<T> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final JsonConversionEngine engine;
+        private final Function<T, JsonNode> rawValue;
+
+        private ConvertingSerializer(Class<T> type, JsonConversionEngine engine, Function<T, JsonNode> rawValue) {
+            super(type);
+            this.engine = engine;
+            this.rawValue = rawValue;
+        }
+
+        @Override
+        public void serialize(T value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            JsonNode raw = rawValue.apply(value);
+            if (raw == null) {
+                // NaN/Infinity: metinde de sayı olarak okunmaz, kurallara gösterilmez
+                generator.writeNumber(((Number) value).doubleValue());
+                return;
+            }
+            String path = engine.tracksPaths() ? valuePath(generator.getOutputContext()) : null;
+            engine.convertAt(raw, path).serialize(generator, provider);
+        }
+    }
+
+    private static final class CandidateArrayModifier extends BeanSerializerModifier {
+
+        private static final long serialVersionUID = 1L;
+
+        private final JsonConversionEngine engine;
+
+        private CandidateArrayModifier(JsonConversionEngine engine) {
+            this.engine = engine;
+        }
+
+        @Override
+        public JsonSerializer<?> modifyCollectionSerializer(SerializationConfig config, CollectionType valueType,
+                                                            BeanDescription beanDesc, JsonSerializer<?> serializer) {
+            return new CandidateArraySerializer(engine, serializer);
+        }
+
+        @Override
+        public JsonSerializer<?> modifyArraySerializer(SerializationConfig config, ArrayType valueType,
+                                                       BeanDescription beanDesc, JsonSerializer<?> serializer) {
+            return new CandidateArraySerializer(engine, serializer);
+        }
+    }
+
+    // Kısa skaler koleksiyon/dizileri ağaç modundaki gibi tek bir aday dizi olarak dönüştürür,
+    // diğerlerini asıl serializer'a bırakır
+    private static final class CandidateArraySerializer extends JsonSerializer<Object>
+            implements ContextualSerializer, ResolvableSerializer {
+
+        private final JsonConversionEngine engine;
+        private final JsonSerializer<Object> delegate;
+
+        @SuppressWarnings("unchecked")
+        private CandidateArraySerializer(JsonConversionEngine engine, JsonSerializer<?> delegate) {
+            this.engine = engine;
+            this.delegate = (JsonSerializer<Object>) delegate;
+        }
+
+        @Override
+        public void serialize(Object value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            ArrayNode raw = candidateArray(value);
+            if (raw == null) {
+                if (isNumberArray(value)) {
+                    serializeElements(value, generator, provider);
+                } else {
+                    delegate.serialize(value, generator, provider);
+                }
+                return;
+            }
+            String path = engine.tracksPaths() ? valuePath(generator.getOutputContext()) : null;
+            engine.convertAt(raw, path).serialize(generator, provider);
+        }
+
+        @Override
+        public void serializeWithType(Object value, JsonGenerator generator, SerializerProvider provider,
+                                      TypeSerializer typeSerializer) throws IOException {
+            delegate.serializeWithType(value, generator, provider, typeSerializer);
+        }
+
+        @Override
+        public boolean isEmpty(SerializerProvider provider, Object value) {
+            return delegate.isEmpty(provider, value);
+        }
+
+        @Override
+        public Class<Object> handledType() {
+            return delegate.handledType();
+        }
+
+        @Override
+        public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property)
+                throws JsonMappingException {
+            JsonSerializer<?> contextual = provider.handlePrimaryContextualization(delegate, property);
+            return contextual == delegate ? this : new CandidateArraySerializer(engine, contextual);
+        }
+
+        @Override
+        public void resolve(SerializerProvider provider) throws JsonMappingException {
+            if (delegate instanceof ResolvableSerializer resolvable) {
+                resolvable.resolve(provider);
+            }
+        }
+
+        // int[], double[] vb. dizilerin serializer'ı elemanları değiştirilen serializer'lara uğramadan yazar;
+        // aday olamayacak kadar uzun dizilerde elemanlar burada tek tek dönüştürülür
+        private void serializeElements(Object array, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            int size = Array.getLength(array);
+            generator.writeStartArray(array, size);
+            String path = engine.tracksPaths() ? valuePath(generator.getOutputContext()) : null;
+            for (int i = 0; i < size; i++) {
+                Object item = Array.get(array, i);
+                JsonNode raw = scalarNode(item);
+                if (raw == null) {
+                    generator.writeNumber(((Number) item).doubleValue());
+                } else {
+                    engine.convertAt(raw, path).serialize(generator, provider);
+                }
+            }
+            generator.writeEndArray();
+        }
+
+        private static boolean isNumberArray(Object value) {
+            return value instanceof int[] || value instanceof long[] || value instanceof short[]
+                    || value instanceof double[] || value instanceof float[];
+        }
+
+        // Tüm elemanları skaler olan kısa koleksiyon/dizinin ham hali, değilse null.
+        // byte[] (Base64) ve char[] (metin) dizi olarak yazılmaz.
+        private static ArrayNode candidateArray(Object value) {
+            int size;
+            if (value instanceof Collection<?> collection) {
+                size = collection.size();
+            } else if (value.getClass().isArray() && !(value instanceof byte[]) && !(value instanceof char[])) {
+                size = Array.getLength(value);
+            } else {
+                return null;
+            }
+            if (size > JsonConversionEngine.MAX_CANDIDATE_ARRAY_SIZE) {
+                return null;
+            }
+            ArrayNode array = JsonMappers.MAPPER.createArrayNode();
+            Iterable<?> items = value instanceof Collection<?> collection ? collection : arrayItems(value, size);
+            for (Object item : items) {
+                JsonNode node = scalarNode(item);
+                if (node == null) {
+                    return null;
+                }
+                array.add(node);
+            }
+            return array;
+        }
+
+        private static List<Object> arrayItems(Object array, int size) {
+            List<Object> items = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                items.add(Array.get(array, i));
+            }
+            return items;
+        }
+    }
+
+    private static final class SiblingModifier extends BeanSerializerModifier {
+
+        private static final long serialVersionUID = 1L;
+
+        private final JsonConversionEngine engine;
+
+        private SiblingModifier(JsonConversionEngine engine) {
+            this.engine = engine;
+        }
+
+        @Override
+        public List<BeanPropertyWriter> changeProperties(SerializationConfig config, BeanDescription beanDesc,
+                                                         List<BeanPropertyWriter> beanProperties) {
+            // Alt sınıflar (@JsonAppend'in VirtualBeanPropertyWriter'ı vb.) kendi davranışlarını kopya constructor ile
+            // kaybeder; sadece düz BeanPropertyWriter'lar sarılır, diğerleri kardeş alansız olduğu gibi yazılır
+            beanProperties.replaceAll(property -> property.getClass() == BeanPropertyWriter.class
+                    ? new FormattedSiblingWriter(property, engine) : property);
+            return beanProperties;
+        }
+    }
+
+    // FORMATTED_SIBLING modu: alan her zamanki gibi yazılır, kurallar sonuç verirse arkasına "<alan>Formatted" eklenir
+    private static final class FormattedSiblingWriter extends BeanPropertyWriter {
+
+        private static final long serialVersionUID = 1L;
+
+        private final JsonConversionEngine engine;
+        private final SerializedString siblingName;
+
+        private FormattedSiblingWriter(BeanPropertyWriter base, JsonConversionEngine engine) {
+            super(base);
+            this.engine = engine;
+            this.siblingName = new SerializedString(base.getName() + "Formatted");
+        }
+
+        @Override
+        public void serializeAsField(Object bean, JsonGenerator generator, SerializerProvider provider) throws Exception {
+            Object value = get(bean);
+            JsonNode raw;
+            if (isCaptured(value)) {
+                // Tarih ve kısa diziler mapper'ın ayarlarına göre yazılır; ham hali tampondan okunur
+                TokenBuffer buffer = new TokenBuffer(generator.getCodec(), false);
+                buffer.writeStartObject();
+                super.serializeAsField(bean, buffer, provider);
+                buffer.writeEndObject();
+                JsonNode captured = JsonMappers.MAPPER.readTree(buffer.asParser());
+                raw = captured.get(getName());
+                if (raw == null) {
+                    return;
+                }
+                generator.writeFieldName(getName());
+                raw.serialize(generator, provider);
+            } else {
+                super.serializeAsField(bean, generator, provider);
+                // @JsonInclude vb. ile yazılmayan alanın kardeşi de yazılmaz
+                if (!getName().equals(generator.getOutputContext().getCurrentName())) {
+                    return;
+                }
+                raw = scalarNode(value);
+                if (raw == null) {
+                    return;
+                }
+            }
+            String path = engine.tracksPaths() ? fieldPath(containerPath(generator.getOutputContext()), getName()) : null;
+            JsonNode formatted = engine.convertAt(raw, path);
+            if (formatted != null) {
+                generator.writeFieldName(siblingName);
+                formatted.serialize(generator, provider);
+            }
+        }
+
+        private static boolean isCaptured(Object value) {
+            if (value instanceof Temporal || value instanceof Date || value instanceof Calendar) {
+                return true;
+            }
+            // Bean içeren koleksiyonlar tampona yazılmaz; içlerindeki kardeş alanların yolu tamponda kaybolur
+            if (value instanceof Collection<?> collection) {
+                return collection.size() <= JsonConversionEngine.MAX_CANDIDATE_ARRAY_SIZE
+                        && collection.stream().allMatch(FormattedSiblingWriter::isScalarItem);
+            }
+            if (value == null || !value.getClass().isArray()) {
+                return false;
+            }
+            int size = Array.getLength(value);
+            if (size > JsonConversionEngine.MAX_CANDIDATE_ARRAY_SIZE) {
+                return false;
+            }
+            if (value.getClass().getComponentType().isPrimitive()) {
+                return true;
+            }
+            for (int i = 0; i < size; i++) {
+                if (!isScalarItem(Array.get(value, i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean isScalarItem(Object item) {
+            return item == null || item instanceof CharSequence || item instanceof Number || item instanceof Boolean
+                    || item instanceof Character || item instanceof Enum<?> || item instanceof UUID;
+        }
+    }
+
+    // String, sayı ve boolean'ın metinden okunduğunda oluşacak düğüm; diğer tipler ve NaN/Infinity için null
+    private static JsonNode scalarNode(Object value) {
+        if (value instanceof String text) {
+            return TextNode.valueOf(text);
+        } else if (value instanceof Boolean bool) {
+            return BooleanNode.valueOf(bool);
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return IntNode.valueOf(((Number) value).intValue());
+        } else if (value instanceof Long || value instanceof BigInteger) {
+            return integralNode((Number) value);
+        } else if (value instanceof BigDecimal decimal) {
+            // Ölçeği 0 olan BigDecimal metne tam sayı olarak yazılır
+            return decimal.scale() == 0 ? integralNode(decimal.unscaledValue()) : DecimalNode.valueOf(decimal);
+        } else if (value instanceof Double || value instanceof Float) {
+            double number = value instanceof Float ? Double.parseDouble(value.toString()) : (Double) value;
+            return Double.isFinite(number) ? DoubleNode.valueOf(number) : null;
+        }
+        return null;
+    }
+
+    private static JsonNode integralNode(Number value) {
+        if (value instanceof BigInteger big && big.bitLength() >= Long.SIZE) {
+            return BigIntegerNode.valueOf(big);
+        }
+        long number = value.longValue();
+        return number == (int) number ? IntNode.valueOf((int) number) : LongNode.valueOf(number);
+    }
+
+    private static JsonNode timestampArray(LocalDate date) {
+        ArrayNode array = JsonMappers.MAPPER.createArrayNode();
+        return array.add(date.getYear()).add(date.getMonthValue()).add(date.getDayOfMonth());
+    }
+
+    private static JsonNode timestampArray(LocalDateTime dateTime) {
+        ArrayNode array = JsonMappers.MAPPER.createArrayNode();
+        array.add(dateTime.getYear()).add(dateTime.getMonthValue()).add(dateTime.getDayOfMonth())
+                .add(dateTime.getHour()).add(dateTime.getMinute());
+        if (dateTime.getSecond() > 0 || dateTime.getNano() > 0) {
+            array.add(dateTime.getSecond());
+            if (dateTime.getNano() > 0) {
+                array.add(dateTime.getNano());
+            }
+        }
+        return array;
+    }
+
+    // Yazılmakta olan değerin yolu; motorun ürettiği biçimde ("rows.*.date")
+    private static String valuePath(JsonStreamContext context) {
+        if (context.inObject()) {
+            return fieldPath(containerPath(context), context.getCurrentName());
+        } else if (context.inArray()) {
+            return containerPath(context) + ".*";
+        }
+        return "";
+    }
+
+    // Nesne ya da dizi bağlamının kendisinin yolu
+    private static String containerPath(JsonStreamContext context) {
+        JsonStreamContext parent = context.getParent();
+        if (parent == null || parent.inRoot()) {
+            return "";
+        }
+        String parentPath = containerPath(parent);
+        if (parent.inArray()) {
+            return parentPath + ".*";
+        }
+        return fieldPath(parentPath, parent.getCurrentName());
+    }
+
+    private static String fieldPath(String path, String key) {
+        return path.isEmpty() ? key : path + "." + key;
+    }
+}
@@ -0,0 +1,130 @@
+package com.ykl.leasing.ngla.system.common.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+// Aynı belgenin tekrar tekrar dönüştürüldüğü durumlar için (ör. UI'ın birkaç saniyede bir çektiği sözleşme detayı).
+// Son girdi ve çıktı saklanır:
+// - Girdi metni öncekiyle aynıysa belge okunmadan önceki sonuç döner.
+// - Değiştiyse belge okunur, önceki girdideki aynı yoldaki değere eşit olan alt ağaçların önceki çıktısı kullanılır;
+//   kurallar sadece değişen alt ağaçlara uygulanır. Dizi elemanları indeksle eşleştirilir. Eşitlik önce alt ağaçların
+//   içerik özetleriyle (SubtreeHash) kontrol edilir; özeti farklı alt ağaçlar equals ile karşılaştırılmaz.
+//
+// Belge başına bir örnek kullanılmalıdır (farklı belgeler sırayla verilirse her seferinde baştan dönüştürülür).
+// Son girdi ve çıktı hem metin hem ağaç olarak tutulduğu için bellek kullanımı belge boyutunun birkaç katıdır.
+// Thread-safe'dir; çağrılar sıraya girer.
+public final class IncrementalConverter {
+
+    private final JsonConversionEngine engine;
+
+    private String lastJson;
+    private String lastResult;
+    private JsonNode lastInput;
+    private SubtreeHash lastHash;
+    private JsonNode lastOutput;
+
+    private long calls;
+    private long unchanged;
+
+    public IncrementalConverter(JsonConversionEngine engine) {
+        this.engine = engine;
+    }
+
+    public synchronized String convert(String json) throws IOException {
+        calls++;
+        if (json.equals(lastJson)) {
+            unchanged++;
+            return lastResult;
+        }
+        JsonNode input = engine.parse(json);
+        SubtreeHash hash = SubtreeHash.of(input);
+        JsonNode output = engine.reconvert(input, hash, lastInput, lastHash, lastOutput);
+        String result = JsonMappers.WRITER.writeValueAsString(output);
+        lastJson = json;
+        lastResult = result;
+        lastInput = input;
+        lastHash = hash;
+        lastOutput = output;
+        return result;
+    }
+
+    // Saklanan girdi/çıktıyı bırakır; sonraki çağrı baştan dönüştürür
+    public synchronized void reset() {
+        lastJson = null;
+        lastResult = null;
+        lastInput = null;
+        lastHash = null;
+        lastOutput = null;
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(calls, unchanged);
+    }
+
+    // unchangedDocuments: girdisi öncekiyle aynı olduğu için okunmadan dönen çağrı sayısı.
+    // Değişen belgelerde yeniden dolaşılan düğüm sayısı motorun dinleyicisine (nodesVisited) bildirilir.
+    public record Stats(long calls, long unchangedDocuments) {
+    }
+
+    // Kap düğümün içerik özeti ve kap olan çocuklarının özetleri; ağaçla aynı şekilde (alan adı / indeks) iç içedir.
+    // Alan sırası da özete girer: ObjectNode.equals sırayı gözetmediği için, sadece alanları yer değiştiren nesne
+    // özetle değişmiş sayılır ve çıktısı yeni sırayla kurulur. Skaler değerlerin özeti tutulmaz, doğrudan equals ile
+    // karşılaştırılırlar.
+    static final class SubtreeHash {
+        final int hash;
+        private final Map<String, SubtreeHash> fields;
+        private final SubtreeHash[] items;
+
+        private SubtreeHash(int hash, Map<String, SubtreeHash> fields, SubtreeHash[] items) {
+            this.hash = hash;
+            this.fields = fields;
+            this.items = items;
+        }
+
+        // Skaler düğüm için null
+        static SubtreeHash of(JsonNode node) {
+            if (node instanceof ObjectNode object) {
+                Map<String, SubtreeHash> fields = null;
+                int hash = 1;
+                Iterator<Map.Entry<String, JsonNode>> entries = object.fields();
+                while (entries.hasNext()) {
+                    Map.Entry<String, JsonNode> entry = entries.next();
+                    SubtreeHash child = of(entry.getValue());
+                    if (child != null) {
+                        if (fields == null) {
+                            fields = new HashMap<>();
+                        }
+                        fields.put(entry.getKey(), child);
+                    }
+                    hash = 31 * (31 * hash + entry.getKey().hashCode())
+                            + (child != null ? child.hash : entry.getValue().hashCode());
+                }
+                return new SubtreeHash(hash, fields, null);
+            } else if (node instanceof ArrayNode array) {
+                SubtreeHash[] items = new SubtreeHash[array.size()];
+                int hash = 1;
+                for (int i = 0; i < items.length; i++) {
+                    JsonNode item = array.get(i);
+                    items[i] = of(item);
+                    hash = 31 * hash + (items[i] != null ? items[i].hash : item.hashCode());
+                }
+                return new SubtreeHash(hash, null, items);
+            }
+            return null;
+        }
+
+        SubtreeHash field(String key) {
+            return fields != null ? fields.get(key) : null;
+        }
+
+        SubtreeHash item(int index) {
+            return items != null && index < items.length ? items[index] : null;
+        }
+    }
+}
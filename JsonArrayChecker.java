@@ -1,19 +1,138 @@
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.node.JsonNodeType;
+import com.ykl.leasing.ngla.system.common.util.JsonMappers;
+
+import java.io.IOException;
+import java.io.InputStream;
 
 public class JsonArrayChecker {
 
-    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final JsonFactory jsonFactory = JsonMappers.MAPPER.getFactory();
 
+    // Ağaç kurulmaz; belge token token atlanarak doğrulanır
     public static boolean isJsonArray(String jsonString) {
-        try {
-            JsonNode jsonNode = objectMapper.readTree(jsonString);
-            return jsonNode.isArray();
+        return isJsonArray(jsonString, true);
+    }
+
+    // validate false ise sadece ilk anlamlı token'a bakılır (belgenin geri kalanı okunmaz)
+    public static boolean isJsonArray(String jsonString, boolean validate) {
+        try (JsonParser parser = jsonFactory.createParser(jsonString)) {
+            return isJsonArray(parser, validate);
         } catch (Exception e) {
             return false; // Geçersiz JSON veya parse hatası durumunda false döner
         }
     }
 
+    public static boolean isJsonArray(byte[] json, boolean validate) {
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            return isJsonArray(parser, validate);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static boolean isJsonArray(JsonParser parser, boolean validate) throws IOException {
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            return false;
+        }
+        if (validate) {
+            // Kapanmayan ya da bozuk içerikte exception fırlar
+            parser.skipChildren();
+        }
+        return true;
+    }
+
+    // Kök tipi, kökteki eleman (dizi) ya da alan (nesne) sayısı ve en fazla iç içelik derinliği,
+    // düğüm oluşturmadan tek geçişte çıkarılır
+    public static Structure inspect(String jsonString) {
+        try (JsonParser parser = jsonFactory.createParser(jsonString)) {
+            return inspect(parser);
+        } catch (IOException e) {
+            return Structure.INVALID;
+        }
+    }
+
+    public static Structure inspect(InputStream input) {
+        try (JsonParser parser = jsonFactory.createParser(input)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            return inspect(parser);
+        } catch (IOException e) {
+            return Structure.INVALID;
+        }
+    }
+
+    private static Structure inspect(JsonParser parser) throws IOException {
+        JsonToken token;
+        try {
+            token = parser.nextToken();
+        } catch (IOException e) {
+            return Structure.INVALID;
+        }
+        if (token == null) {
+            return Structure.INVALID;
+        }
+
+        JsonNodeType rootType = nodeType(token);
+        int depth = 0;
+        int maxDepth = 0;
+        int elementCount = 0;
+        try {
+            while (token != null) {
+                if (depth == 1 && (rootType == JsonNodeType.ARRAY ? token.isScalarValue() || token.isStructStart()
+                        : token == JsonToken.FIELD_NAME)) {
+                    elementCount++;
+                }
+                if (token.isStructStart()) {
+                    maxDepth = Math.max(maxDepth, ++depth);
+                } else if (token.isStructEnd()) {
+                    depth--;
+                }
+                if (depth == 0) {
+                    // Skaler kökte metin tembel okunur; kapanmayan string'in hatası ancak burada fırlar
+                    parser.finishToken();
+                    return new Structure(rootType, elementCount, maxDepth, true);
+                }
+                token = parser.nextToken();
+            }
+        } catch (IOException e) {
+            // Bozuk içerik: o ana kadar görülenler raporlanır
+        }
+        return new Structure(rootType, elementCount, maxDepth, false);
+    }
+
+    private static JsonNodeType nodeType(JsonToken token) {
+        switch (token) {
+            case START_ARRAY:
+                return JsonNodeType.ARRAY;
+            case START_OBJECT:
+                return JsonNodeType.OBJECT;
+            case VALUE_STRING:
+                return JsonNodeType.STRING;
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return JsonNodeType.NUMBER;
+            case VALUE_TRUE:
+            case VALUE_FALSE:
+                return JsonNodeType.BOOLEAN;
+            case VALUE_NULL:
+                return JsonNodeType.NULL;
+            default:
+                return JsonNodeType.MISSING;
+        }
+    }
+
+    // rootType MISSING ise belge boş ya da ilk token'dan itibaren geçersizdir
+    public record Structure(JsonNodeType rootType, int topLevelElementCount, int maxDepth, boolean valid) {
+
+        static final Structure INVALID = new Structure(JsonNodeType.MISSING, 0, 0, false);
+
+        public boolean isArray() {
+            return valid && rootType == JsonNodeType.ARRAY;
+        }
+    }
+
     // Kullanım örneği
     public static void main(String[] args) {
         String jsonArray = "[{\"name\":\"John\"}, {\"name\":\"Jane\"}]";
@@ -23,5 +142,6 @@ public class JsonArrayChecker {
         System.out.println("Birinci JSON array mi? " + isJsonArray(jsonArray));   // true
         System.out.println("İkinci JSON array mi? " + isJsonArray(jsonObject));  // false
         System.out.println("Geçersiz JSON array mi? " + isJsonArray(invalidJson)); // false
+        System.out.println("Birinci JSON yapısı: " + inspect(jsonArray));        // ARRAY, 2 eleman, derinlik 2
     }
 }
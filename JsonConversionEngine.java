@@ -0,0 +1,1194 @@
+package com.ykl.leasing.ngla.system.common.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeType;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntConsumer;
+import java.util.stream.Stream;
+
+// Tarih/sayı dönüşümlerini tek geçişte uygulayan motor. Kurallar sırayla denenir, ilk sonuç veren kazanır.
+// REPLACE modunda değer yerinde değiştirilir (kök dahil), FORMATTED_SIBLING modunda sadece nesne alanları için
+// "<alan>Formatted" kardeş alanı eklenir. Motor immutable ve thread-safe'dir.
+//
+// Kurallara sadece skaler değerler ve en fazla MAX_CANDIDATE_ARRAY_SIZE skaler elemanlı diziler (tarih dizileri)
+// gösterilir; böylece ağaç ve streaming modları aynı sonucu üretir.
+//
+// Builder.listener ile ConversionListener bağlanırsa her çağrının süresi, dolaşılan düğüm sayısı, kural bazında
+// dönüştürülen değer sayısı ve girdi/çıktı uzunluğu bildirilir. Dinleyici yoksa sayaç tutulmaz, zaman ölçülmez.
+//
+// withPlan ile ConversionPlan bağlanırsa plandaki yollarda sadece plandaki kural denenir (bkz. ConversionPlan).
+public final class JsonConversionEngine {
+
+    public enum Output { REPLACE, FORMATTED_SIBLING }
+
+    public interface Rule {
+
+        // Değere uygulanamıyorsa null döner
+        JsonNode apply(JsonNode value, String path);
+
+        default String name() {
+            return getClass().getSimpleName();
+        }
+
+        // false ise motor yol üretmez ve path parametresi null gelir
+        default boolean needsPath() {
+            return false;
+        }
+
+        // İsabetlerini metriklerde alt adlara bölen kural (ör. formatter tipine göre) bu adları döner; boşsa
+        // isabetler name() ile sayılır. Plan her durumda name() ile çalışır.
+        default List<String> hitNames() {
+            return List.of();
+        }
+
+        // hitNames boş değilse dinleyici bağlıyken apply(value, path) yerine çağrılır; kural sonuç verdiğinde
+        // isabetin hitNames'teki sırasını hit'e bildirir. Dinleyici yoksa çağrılmaz.
+        default JsonNode apply(JsonNode value, String path, IntConsumer hit) {
+            return apply(value, path);
+        }
+    }
+
+    static final int MAX_CANDIDATE_ARRAY_SIZE = 6;
+    static final int DEFAULT_PARALLEL_THRESHOLD = 1000;
+    private static final int PARALLEL_CHUNK_SIZE = 64;
+
+    private static final ObjectMapper mapper = JsonMappers.MAPPER;
+    // Streaming modda değer başına flush yapılmaz; generator'da ObjectCodec olması da gerekmez
+    private static final ObjectWriter treeWriter = JsonMappers.WRITER.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+    private final Output output;
+    private final Rule[] rules;
+    // Kural başına hitNames, alt adı olmayan kurallarda null
+    private final String[][] hitNames;
+    private final boolean trackPaths;
+    private final ForkJoinPool pool;
+    private final int parallelThreshold;
+    private final ConversionListener listener;
+    private final PlanNode plan;
+
+    private JsonConversionEngine(Builder builder) {
+        this.output = builder.output;
+        this.listener = builder.listener;
+        this.pool = builder.pool;
+        this.parallelThreshold = builder.parallelThreshold;
+        this.rules = builder.rules.toArray(new Rule[0]);
+        this.hitNames = new String[rules.length][];
+        boolean paths = false;
+        for (int i = 0; i < rules.length; i++) {
+            paths |= rules[i].needsPath();
+            List<String> names = rules[i].hitNames();
+            hitNames[i] = names.isEmpty() ? null : names.toArray(new String[0]);
+        }
+        this.trackPaths = paths;
+        this.plan = null;
+    }
+
+    private JsonConversionEngine(JsonConversionEngine engine, PlanNode plan) {
+        this.output = engine.output;
+        this.listener = engine.listener;
+        this.pool = engine.pool;
+        this.parallelThreshold = engine.parallelThreshold;
+        this.rules = engine.rules;
+        this.hitNames = engine.hitNames;
+        this.trackPaths = engine.trackPaths;
+        this.plan = plan;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    // Aynı ayarlarla, verilen planı uygulayan motor döner; null planı kaldırır.
+    // Planda motorda olmayan bir kural adı varsa IllegalArgumentException fırlatır.
+    public JsonConversionEngine withPlan(ConversionPlan conversionPlan) {
+        return new JsonConversionEngine(this, conversionPlan != null ? compile(conversionPlan.root) : null);
+    }
+
+    // Örnek belgeleri tüm kurallarla dolaşarak (değiştirmeden) bu motorun kuralları için plan çıkarır
+    public ConversionPlan learnPlan(JsonNode... samples) {
+        ConversionPlan.Node root = new ConversionPlan.Node();
+        for (JsonNode sample : samples) {
+            learn(sample, root, rootPath(), output == Output.REPLACE);
+        }
+        return new ConversionPlan(root);
+    }
+
+    // Düğüme hangi kuralın uygulandığını kaydeder; dönüştürme modunun dolaştığı yerleri aynen dolaşır
+    private void learn(JsonNode node, ConversionPlan.Node planNode, String path, boolean rulesApply) {
+        String rule = ConversionPlan.NONE;
+        if (rulesApply && isCandidate(node)) {
+            int index = matchingRule(node, path);
+            if (index >= 0) {
+                rule = rules[index].name();
+            }
+        }
+        planNode.observe(rule, node.getNodeType(), node.isFloatingPointNumber());
+        if (output == Output.REPLACE && !rule.equals(ConversionPlan.NONE)) {
+            return;
+        }
+        if (node instanceof ObjectNode object) {
+            Iterator<Map.Entry<String, JsonNode>> fields = object.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> entry = fields.next();
+                learn(entry.getValue(), planNode.field(entry.getKey()), fieldPath(path, entry.getKey()), true);
+            }
+        } else if (node instanceof ArrayNode array) {
+            String itemPath = itemPath(path);
+            for (JsonNode item : array) {
+                learn(item, planNode.items(), itemPath, output == Output.REPLACE);
+            }
+        }
+    }
+
+    public String convert(String json) throws IOException {
+        Counters counters = begin();
+        JsonNode root = read(() -> JsonMappers.READER.readTree(json));
+        String result = JsonMappers.WRITER.writeValueAsString(transform(root, true, counters));
+        finish(counters, json.length(), result.length());
+        return result;
+    }
+
+    // UTF-8 baytlar String'e çevrilmeden okunur ve yazılır
+    public byte[] convert(byte[] json) throws IOException {
+        Counters counters = begin();
+        JsonNode root = read(() -> JsonMappers.READER.readTree(json));
+        byte[] result = JsonMappers.WRITER.writeValueAsBytes(transform(root, true, counters));
+        finish(counters, json.length, result.length);
+        return result;
+    }
+
+    // Toplu dönüşüm; sonuçlar girdi sırasıyla döner. Hatalı belge UncheckedIOException fırlatır.
+    public List<String> convertAll(List<String> documents) {
+        List<String> results = new ArrayList<>(documents.size());
+        for (String document : documents) {
+            results.add(convertUnchecked(document));
+        }
+        return results;
+    }
+
+    // Tembel çalışır; paralel stream ile kullanılabilir
+    public Stream<String> convertAll(Stream<String> documents) {
+        return documents.map(this::convertUnchecked);
+    }
+
+    public Iterator<String> convertAll(Iterator<String> documents) {
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return documents.hasNext();
+            }
+
+            @Override
+            public String next() {
+                return convertUnchecked(documents.next());
+            }
+        };
+    }
+
+    // Belgeler executor üzerinde aynı anda en fazla maxParallelism adet işlenir, sonuçlar girdi sırasıyla döner.
+    // Bir belge hata verirse diğerleri bitince ilk hata fırlatılır.
+    public List<String> convertAll(List<String> documents, Executor executor, int maxParallelism) {
+        if (maxParallelism < 1) {
+            throw new IllegalArgumentException("maxParallelism en az 1 olmalı: " + maxParallelism);
+        }
+        String[] results = new String[documents.size()];
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[results.length];
+        Semaphore permits = new Semaphore(maxParallelism);
+        for (int i = 0; i < results.length; i++) {
+            int index = i;
+            permits.acquireUninterruptibly();
+            try {
+                futures[i] = CompletableFuture.runAsync(() -> {
+                    try {
+                        results[index] = convertUnchecked(documents.get(index));
+                    } finally {
+                        permits.release();
+                    }
+                }, executor);
+            } catch (RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+        }
+        try {
+            CompletableFuture.allOf(futures).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return Arrays.asList(results);
+    }
+
+    private String convertUnchecked(String document) {
+        try {
+            return convert(document);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Girdinin kalan kısmı okunur ve tüketilir (position = limit). Heap buffer'lar kopyalanmadan okunur.
+    public ByteBuffer convert(ByteBuffer json) throws IOException {
+        Counters counters = begin();
+        int length = json.remaining();
+        JsonNode root = read(() -> {
+            if (!json.hasArray()) {
+                return JsonMappers.READER.readTree(new ByteBufferBackedInputStream(json));
+            }
+            JsonNode node = JsonMappers.READER.readTree(json.array(), json.arrayOffset() + json.position(), json.remaining());
+            json.position(json.limit());
+            return node;
+        });
+        byte[] result = JsonMappers.WRITER.writeValueAsBytes(transform(root, true, counters));
+        finish(counters, length, result.length);
+        return ByteBuffer.wrap(result);
+    }
+
+    // Ağacı yerinde dönüştürür. REPLACE modunda kökün kendisi değişebileceği için dönen değer kullanılmalı.
+    public JsonNode apply(JsonNode root) {
+        return apply(root, true);
+    }
+
+    // inPlace false ise girdi ağacına dokunulmaz, nesne ve diziler kopyalanarak yeni ağaç döner
+    // (değişmeyen skaler düğümler paylaşılır). Kopyalama tepe bellek kullanımını yaklaşık iki katına çıkarır.
+    public JsonNode apply(JsonNode root, boolean inPlace) {
+        Counters counters = begin();
+        JsonNode result = transform(root, inPlace, counters);
+        finish(counters, -1, -1);
+        return result;
+    }
+
+    private JsonNode transform(JsonNode root, boolean inPlace, Counters counters) {
+        if (counters != null) {
+            counters.nodes++;
+        }
+        if (output == Output.REPLACE) {
+            JsonNode replacement = convertValue(root, plan, rootPath(), counters);
+            if (replacement != null) {
+                return replacement;
+            }
+        }
+        return root.isContainerNode() ? visit(root, plan, rootPath(), inPlace, counters) : root;
+    }
+
+    // IncrementalConverter için: girdiyi okur, okunamazsa dinleyiciye bildirir
+    JsonNode parse(String json) throws IOException {
+        return read(() -> JsonMappers.READER.readTree(json));
+    }
+
+    // IncrementalConverter için: önceki girdideki aynı yoldaki değere eşit olan alt ağaçların önceki çıktısını kullanır,
+    // sadece değişen alt ağaçlara kural uygular. Girdi ağacına dokunulmaz; dönen ağaç önceki çıktıyla düğüm paylaşabilir.
+    // Dizi elemanları indeksle eşleştirilir, araya eleman eklenirse sonrakiler yeniden dönüştürülür.
+    // hash/previousHash girdilerin alt ağaç özetleridir (kök skalerse null); kap düğümler önce özetle karşılaştırılır.
+    JsonNode reconvert(JsonNode root, IncrementalConverter.SubtreeHash hash, JsonNode previousInput,
+                       IncrementalConverter.SubtreeHash previousHash, JsonNode previousOutput) {
+        Counters counters = begin();
+        JsonNode result;
+        if (unchanged(root, hash, previousInput, previousHash)) {
+            result = previousOutput;
+        } else {
+            if (counters != null) {
+                counters.nodes++;
+            }
+            JsonNode replacement = output == Output.REPLACE ? convertValue(root, plan, rootPath(), counters) : null;
+            if (replacement != null) {
+                result = replacement;
+            } else {
+                result = root.isContainerNode()
+                        ? visitChanged(root, hash, plan, rootPath(), previousInput, previousHash, previousOutput, counters)
+                        : root;
+            }
+        }
+        finish(counters, -1, -1);
+        return result;
+    }
+
+    // Alt ağaç özetleri farklıysa değer değişmiştir; aynıysa çakışma ihtimaline karşı equals ile doğrulanır. Böylece
+    // her değişmemiş alt ağaç bir kez karşılaştırılır, değişen yol üzerindeki her seviyede yeniden karşılaştırılmaz.
+    private static boolean unchanged(JsonNode node, IncrementalConverter.SubtreeHash hash, JsonNode previous,
+                                     IncrementalConverter.SubtreeHash previousHash) {
+        if (previous == null) {
+            return false;
+        }
+        if (hash != null && previousHash != null && hash.hash != previousHash.hash) {
+            return false;
+        }
+        return node.equals(previous);
+    }
+
+    private JsonNode visitChanged(JsonNode node, IncrementalConverter.SubtreeHash hash, PlanNode planNode, String path,
+                                  JsonNode previousInput, IncrementalConverter.SubtreeHash previousHash,
+                                  JsonNode previousOutput, Counters counters) {
+        if (previousInput == null || previousOutput == null
+                || previousInput.getNodeType() != node.getNodeType() || previousOutput.getNodeType() != node.getNodeType()) {
+            return visit(node, planNode, path, false, counters);
+        }
+        if (node instanceof ObjectNode object) {
+            ObjectNode target = object.objectNode();
+            List<Map.Entry<String, JsonNode>> siblings = null;
+            Iterator<Map.Entry<String, JsonNode>> fields = object.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> entry = fields.next();
+                String key = entry.getKey();
+                JsonNode child = entry.getValue();
+                JsonNode previousChild = previousInput.get(key);
+                IncrementalConverter.SubtreeHash childHash = hash.field(key);
+                IncrementalConverter.SubtreeHash previousChildHash = previousHash.field(key);
+                String siblingKey = key + "Formatted";
+
+                JsonNode result;
+                JsonNode formatted;
+                if (unchanged(child, childHash, previousChild, previousChildHash) && (output == Output.REPLACE
+                        || !siblingAmbiguous(object, key) && !siblingAmbiguous(previousInput, key))) {
+                    result = previousOutput.get(key);
+                    formatted = output == Output.REPLACE ? null : previousOutput.get(siblingKey);
+                } else {
+                    String childPath = fieldPath(path, key);
+                    PlanNode childPlan = planNode != null ? planNode.field(key) : null;
+                    if (counters != null) {
+                        counters.nodes++;
+                    }
+                    JsonNode replacement = convertValue(child, childPlan, childPath, counters);
+                    if (output == Output.REPLACE && replacement != null) {
+                        result = replacement;
+                        formatted = null;
+                    } else {
+                        result = child.isContainerNode()
+                                ? visitChanged(child, childHash, childPlan, childPath, previousChild, previousChildHash,
+                                        previousOutput.get(key), counters)
+                                : child;
+                        formatted = replacement;
+                    }
+                }
+
+                target.set(key, result);
+                if (formatted != null) {
+                    if (siblings == null) {
+                        siblings = new ArrayList<>();
+                    }
+                    siblings.add(Map.entry(siblingKey, formatted));
+                }
+            }
+            if (siblings != null) {
+                for (Map.Entry<String, JsonNode> sibling : siblings) {
+                    target.set(sibling.getKey(), sibling.getValue());
+                }
+            }
+            return target;
+        } else if (node instanceof ArrayNode array) {
+            String itemPath = itemPath(path);
+            PlanNode itemPlan = planNode != null ? planNode.items : null;
+            ArrayNode target = array.arrayNode(array.size());
+            for (int i = 0; i < array.size(); i++) {
+                JsonNode child = array.get(i);
+                JsonNode previousChild = previousInput.get(i);
+                IncrementalConverter.SubtreeHash childHash = hash.item(i);
+                IncrementalConverter.SubtreeHash previousChildHash = previousHash.item(i);
+                if (unchanged(child, childHash, previousChild, previousChildHash)) {
+                    target.add(previousOutput.get(i));
+                    continue;
+                }
+                if (counters != null) {
+                    counters.nodes++;
+                }
+                JsonNode replacement = output == Output.REPLACE ? convertValue(child, itemPlan, itemPath, counters) : null;
+                if (replacement != null) {
+                    target.add(replacement);
+                } else {
+                    target.add(child.isContainerNode()
+                            ? visitChanged(child, childHash, itemPlan, itemPath, previousChild, previousChildHash,
+                                    previousOutput.get(i), counters)
+                            : child);
+                }
+            }
+            return target;
+        }
+        return node;
+    }
+
+    // Girdide hem "<alan>" hem "<alan>Formatted" varsa çıktıdaki değerin girdiden mi kardeş alandan mı geldiği bilinemez
+    private static boolean siblingAmbiguous(JsonNode object, String key) {
+        return object.has(key + "Formatted")
+                || key.endsWith("Formatted") && object.has(key.substring(0, key.length() - "Formatted".length()));
+    }
+
+    // FormattingModule için: serileştirme sırasında tek bir değere kuralları uygular. path değerin belgedeki yoludur
+    // (motor yol kullanmıyorsa null). REPLACE modunda dönüştürülmüş değeri (kap ise içi dolaşılmış halini),
+    // FORMATTED_SIBLING modunda "Formatted" değerini ya da null döner. Plan ve dinleyici kullanılmaz.
+    JsonNode convertAt(JsonNode value, String path) {
+        JsonNode replacement = convertValue(value, null, path, null);
+        if (output == Output.FORMATTED_SIBLING || replacement != null) {
+            return replacement;
+        }
+        return value.isContainerNode() ? visit(value, null, path, true, null) : value;
+    }
+
+    Output output() {
+        return output;
+    }
+
+    ConversionListener listener() {
+        return listener;
+    }
+
+    boolean tracksPaths() {
+        return trackPaths;
+    }
+
+    public void convert(InputStream input, OutputStream output) throws IOException {
+        // Çıkan bayt sayısı sadece dinleyici varsa sayılır
+        CountingOutputStream counted = listener != null ? new CountingOutputStream(output) : null;
+        try (JsonParser parser = mapper.getFactory().createParser(input);
+             JsonGenerator generator = mapper.getFactory().createGenerator(counted != null ? counted : output)) {
+            convert(parser, generator, counted);
+        }
+    }
+
+    public void convert(Reader reader, Writer writer) throws IOException {
+        try (JsonParser parser = mapper.getFactory().createParser(reader);
+             JsonGenerator generator = mapper.getFactory().createGenerator(writer)) {
+            convert(parser, generator);
+        }
+    }
+
+    // Dosyadan dosyaya streaming dönüşüm. Girdi parça parça belleğe eşlenir, çıktı direct buffer üzerinden
+    // kanala yazılır; heap kullanımı dosya boyutundan bağımsızdır. Çıktı önce aynı dizindeki geçici dosyaya
+    // yazılır, diske indirilir (force) ve sadece başarılı olursa hedefin yerine taşınır. Hedef zaten varsa
+    // izinleri korunur, yoksa dosya varsayılan izinlerle (umask) oluşur.
+    public void convert(Path input, Path output) throws IOException {
+        Path target = output.toAbsolutePath();
+        Path temp = createSiblingTemp(target);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE);
+             InputStream in = new MappedFileInputStream(FileChannel.open(input, StandardOpenOption.READ));
+             OutputStream out = new ChannelOutputStream(channel)) {
+            convert(in, out);
+            out.flush();
+            channel.force(true);
+            copyPermissions(target, temp);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Files.createTempFile dosyayı sadece sahibine açık (0600) oluşturur ve taşındıktan sonra da öyle kalır;
+    // geçici dosya normal bir dosya gibi varsayılan izinlerle oluşturulur
+    private static Path createSiblingTemp(Path target) throws IOException {
+        String prefix = "." + target.getFileName() + ".";
+        for (int attempt = 0; ; attempt++) {
+            Path temp = target.resolveSibling(prefix + Long.toHexString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+            try {
+                return Files.createFile(temp);
+            } catch (FileAlreadyExistsException e) {
+                if (attempt >= 100) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private static void copyPermissions(Path from, Path to) throws IOException {
+        if (!Files.exists(from)) {
+            return;
+        }
+        PosixFileAttributeView view = Files.getFileAttributeView(from, PosixFileAttributeView.class);
+        if (view != null) {
+            Files.setPosixFilePermissions(to, view.readAttributes().permissions());
+        }
+    }
+
+    // Streaming mod: ağaç kurmadan token token okur. Bellek kullanımı belge boyutuna değil derinliğe bağlıdır.
+    // Parser ve generator herhangi bir JsonFactory ile (ObjectCodec olmadan) oluşturulmuş olabilir.
+    // FORMATTED_SIBLING modunda "Formatted" alanları ağaç modundaki gibi nesnenin sonuna yazılır (nesne başına
+    // sadece kardeş değerler tutulur); girdide "Formatted" ile biten bir alan görülürse nesnenin kalanı tamponlanır
+    // ve çakışan ad ağaç modundaki gibi çözülür. Çıktı ağaç moduyla birebir aynıdır.
+    public void convert(JsonParser parser, JsonGenerator generator) throws IOException {
+        convert(parser, generator, null);
+    }
+
+    private void convert(JsonParser parser, JsonGenerator generator, CountingOutputStream counted) throws IOException {
+        // Akışları çağıran açtı, kapatmak da onun işi
+        parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        Counters counters = begin();
+        try {
+            if (parser.nextToken() != null) {
+                streamValue(parser, generator, plan, rootPath(), output == Output.REPLACE, counters);
+            }
+        } catch (JsonProcessingException e) {
+            parseFailed(e);
+            throw e;
+        }
+        generator.flush();
+        if (counters != null) {
+            // Girdi konumu bayt tabanlı parser'da bayt, Reader tabanlıda karakter olarak verilir
+            JsonLocation location = parser.currentLocation();
+            long inputLength = location.getByteOffset() >= 0 ? location.getByteOffset() : location.getCharOffset();
+            finish(counters, inputLength, counted != null ? counted.count : -1);
+        }
+    }
+
+    private JsonNode visit(JsonNode node, PlanNode planNode, String path, boolean inPlace, Counters counters) {
+        if (node instanceof ObjectNode object) {
+            ObjectNode target = inPlace ? object : object.objectNode();
+            List<Map.Entry<String, JsonNode>> siblings = null;
+            Iterator<Map.Entry<String, JsonNode>> fields = object.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> entry = fields.next();
+                JsonNode child = entry.getValue();
+                String childPath = fieldPath(path, entry.getKey());
+                PlanNode childPlan = planNode != null ? planNode.field(entry.getKey()) : null;
+                if (counters != null) {
+                    counters.nodes++;
+                }
+                JsonNode replacement = convertValue(child, childPlan, childPath, counters);
+
+                JsonNode result;
+                if (output == Output.REPLACE && replacement != null) {
+                    result = replacement;
+                } else {
+                    if (replacement != null) {
+                        if (siblings == null) {
+                            siblings = new ArrayList<>();
+                        }
+                        siblings.add(Map.entry(entry.getKey() + "Formatted", replacement));
+                    }
+                    result = child.isContainerNode() ? visit(child, childPlan, childPath, inPlace, counters) : child;
+                }
+
+                if (!inPlace) {
+                    target.set(entry.getKey(), result);
+                } else if (result != child) {
+                    entry.setValue(result);
+                }
+            }
+            // Alanlar iterasyon bittikten sonra eklenir (iterasyon sırasında yapısal değişiklik yapılamaz)
+            if (siblings != null) {
+                for (Map.Entry<String, JsonNode> sibling : siblings) {
+                    target.set(sibling.getKey(), sibling.getValue());
+                }
+            }
+            return target;
+        } else if (node instanceof ArrayNode array) {
+            String itemPath = itemPath(path);
+            PlanNode itemPlan = planNode != null ? planNode.items : null;
+            if (pool != null && array.size() >= parallelThreshold) {
+                return visitParallel(array, itemPlan, itemPath, inPlace, counters);
+            }
+            ArrayNode target = inPlace ? array : array.arrayNode(array.size());
+            for (int i = 0; i < array.size(); i++) {
+                JsonNode child = array.get(i);
+                JsonNode result = visitItem(child, itemPlan, itemPath, inPlace, counters);
+
+                if (!inPlace) {
+                    target.add(result);
+                } else if (result != child) {
+                    array.set(i, result);
+                }
+            }
+            return target;
+        }
+        return node;
+    }
+
+    private JsonNode visitItem(JsonNode child, PlanNode itemPlan, String itemPath, boolean inPlace, Counters counters) {
+        if (counters != null) {
+            counters.nodes++;
+        }
+        JsonNode replacement = output == Output.REPLACE ? convertValue(child, itemPlan, itemPath, counters) : null;
+        if (replacement != null) {
+            return replacement;
+        }
+        return child.isContainerNode() ? visit(child, itemPlan, itemPath, inPlace, counters) : child;
+    }
+
+    // Büyük diziler parçalara bölünüp havuzda işlenir. Her eleman kendi indeksine yazıldığı için sıra korunur.
+    // Sayaçlar parça başına ayrı tutulur ve join sonrası birleştirilir.
+    private JsonNode visitParallel(ArrayNode array, PlanNode itemPlan, String itemPath, boolean inPlace, Counters counters) {
+        JsonNode[] results = new JsonNode[array.size()];
+        ArrayChunk task = new ArrayChunk(array, results, itemPlan, itemPath, inPlace, counters, 0, results.length);
+        // Sadece zaten bu havuzun thread'indeysek (iç içe büyük diziler) yerinde çalışılır; başka bir havuzdan
+        // (ör. commonPool'daki paralel stream) gelen çağrılar da yapılandırılan havuza gönderilir
+        if (ForkJoinTask.getPool() == pool) {
+            task.invoke();
+        } else {
+            pool.invoke(task);
+        }
+
+        if (inPlace) {
+            for (int i = 0; i < results.length; i++) {
+                if (results[i] != array.get(i)) {
+                    array.set(i, results[i]);
+                }
+            }
+            return array;
+        }
+        ArrayNode target = array.arrayNode(results.length);
+        for (JsonNode result : results) {
+            target.add(result);
+        }
+        return target;
+    }
+
+    private final class ArrayChunk extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final ArrayNode array;
+        private final JsonNode[] results;
+        private final PlanNode itemPlan;
+        private final String itemPath;
+        private final boolean inPlace;
+        private final Counters counters;
+        private final int from;
+        private final int to;
+
+        private ArrayChunk(ArrayNode array, JsonNode[] results, PlanNode itemPlan, String itemPath, boolean inPlace,
+                           Counters counters, int from, int to) {
+            this.array = array;
+            this.results = results;
+            this.itemPlan = itemPlan;
+            this.itemPath = itemPath;
+            this.inPlace = inPlace;
+            this.counters = counters;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_CHUNK_SIZE) {
+                for (int i = from; i < to; i++) {
+                    results[i] = visitItem(array.get(i), itemPlan, itemPath, inPlace, counters);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            ArrayChunk left = new ArrayChunk(array, results, itemPlan, itemPath, inPlace, newCounters(), from, middle);
+            ArrayChunk right = new ArrayChunk(array, results, itemPlan, itemPath, inPlace, newCounters(), middle, to);
+            invokeAll(left, right);
+            if (counters != null) {
+                counters.add(left.counters);
+                counters.add(right.counters);
+            }
+        }
+
+        private Counters newCounters() {
+            return counters != null ? new Counters(hitNames) : null;
+        }
+    }
+
+    // Geçerli token'daki değeri yazar. Kurallara aday olan (skaler ya da kısa) değeri döner, yoksa null.
+    private JsonNode streamValue(JsonParser parser, JsonGenerator generator, PlanNode planNode, String path,
+                                 boolean replace, Counters counters) throws IOException {
+        if (counters != null) {
+            counters.nodes++;
+        }
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            streamObject(parser, generator, planNode, path, counters);
+            return null;
+        } else if (token == JsonToken.START_ARRAY) {
+            return streamArray(parser, generator, planNode, path, replace, counters);
+        } else {
+            JsonNode value = mapper.readTree(parser);
+            writeScalar(generator, value, planNode, path, replace, counters);
+            return value;
+        }
+    }
+
+    private void streamObject(JsonParser parser, JsonGenerator generator, PlanNode planNode, String path,
+                              Counters counters) throws IOException {
+        generator.writeStartObject();
+        Map<String, JsonNode> siblings = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String key = parser.getCurrentName();
+            String childPath = fieldPath(path, key);
+            PlanNode childPlan = planNode != null ? planNode.field(key) : null;
+            parser.nextToken();
+
+            if (output == Output.REPLACE) {
+                generator.writeFieldName(key);
+                streamValue(parser, generator, childPlan, childPath, true, counters);
+            } else if (key.endsWith("Formatted")) {
+                // Girdideki alan bir kardeş alanla aynı adı taşıyabilir; alanın ve nesnenin kalanı okunup
+                // ağaç modundaki gibi yazılır
+                streamObjectTail(parser, generator, planNode, path, key, siblings, counters);
+                return;
+            } else {
+                generator.writeFieldName(key);
+                JsonNode candidate = streamValue(parser, generator, childPlan, childPath, false, counters);
+                JsonNode formatted = candidate != null ? convertValue(candidate, childPlan, childPath, counters) : null;
+                if (formatted != null) {
+                    if (siblings == null) {
+                        siblings = new LinkedHashMap<>();
+                    }
+                    siblings.put(key + "Formatted", formatted);
+                }
+            }
+        }
+        writeSiblings(generator, siblings);
+        generator.writeEndObject();
+    }
+
+    // FORMATTED_SIBLING: parser key alanının değerindedir. Nesnenin kalan alanları ağaç olarak okunur ve visit ile
+    // aynı kurallarla yazılır: kardeş alan girdide aynı adlı alan varsa onun yerine (onun sırasında) yazılır,
+    // diğer kardeş alanlar nesnenin sonuna eklenir. Bellek kullanımı sadece bu nesnenin kalanı kadardır.
+    private void streamObjectTail(JsonParser parser, JsonGenerator generator, PlanNode planNode, String path,
+                                  String key, Map<String, JsonNode> siblings, Counters counters) throws IOException {
+        ObjectNode tail = mapper.createObjectNode();
+        while (true) {
+            tail.set(key, (JsonNode) mapper.readTree(parser));
+            if (parser.nextToken() != JsonToken.FIELD_NAME) {
+                break;
+            }
+            key = parser.getCurrentName();
+            parser.nextToken();
+        }
+        Map<String, JsonNode> allSiblings = siblings != null ? siblings : new LinkedHashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = tail.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> entry = fields.next();
+            JsonNode child = entry.getValue();
+            String childPath = fieldPath(path, entry.getKey());
+            PlanNode childPlan = planNode != null ? planNode.field(entry.getKey()) : null;
+            if (counters != null) {
+                counters.nodes++;
+            }
+            JsonNode replacement = convertValue(child, childPlan, childPath, counters);
+            if (replacement != null) {
+                allSiblings.put(entry.getKey() + "Formatted", replacement);
+            }
+            if (child.isContainerNode()) {
+                entry.setValue(visit(child, childPlan, childPath, true, counters));
+            }
+        }
+        fields = tail.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> entry = fields.next();
+            JsonNode sibling = allSiblings.remove(entry.getKey());
+            generator.writeFieldName(entry.getKey());
+            writeTree(generator, sibling != null ? sibling : entry.getValue());
+        }
+        writeSiblings(generator, allSiblings);
+        generator.writeEndObject();
+    }
+
+    private static void writeSiblings(JsonGenerator generator, Map<String, JsonNode> siblings) throws IOException {
+        if (siblings == null) {
+            return;
+        }
+        for (Map.Entry<String, JsonNode> sibling : siblings.entrySet()) {
+            generator.writeFieldName(sibling.getKey());
+            writeTree(generator, sibling.getValue());
+        }
+    }
+
+    // Tarih dizisi olabilecek kısa skaler dizileri tamponlar; daha uzun ya da iç içe diziler
+    // tampon boşaltılarak akışa devam eder ve null döner.
+    private JsonNode streamArray(JsonParser parser, JsonGenerator generator, PlanNode planNode, String path,
+                                 boolean replace, Counters counters) throws IOException {
+        ArrayNode buffered = mapper.createArrayNode();
+        JsonToken token = parser.nextToken();
+        while (token != JsonToken.END_ARRAY && token.isScalarValue() && buffered.size() < MAX_CANDIDATE_ARRAY_SIZE) {
+            buffered.add((JsonNode) mapper.readTree(parser));
+            token = parser.nextToken();
+        }
+        boolean complete = token == JsonToken.END_ARRAY;
+        if (complete && replace) {
+            JsonNode replacement = convertValue(buffered, planNode, path, counters);
+            if (replacement != null) {
+                writeTree(generator, replacement);
+                return null;
+            }
+        }
+
+        String itemPath = itemPath(path);
+        PlanNode itemPlan = planNode != null ? planNode.items : null;
+        generator.writeStartArray();
+        // Tamponlanan elemanlar ağaç modundaki gibi sadece dizi olduğu gibi kalırsa sayılır
+        for (JsonNode item : buffered) {
+            if (counters != null) {
+                counters.nodes++;
+            }
+            writeScalar(generator, item, itemPlan, itemPath, replace, counters);
+        }
+        while (token != JsonToken.END_ARRAY) {
+            streamValue(parser, generator, itemPlan, itemPath, replace, counters);
+            token = parser.nextToken();
+        }
+        generator.writeEndArray();
+        return complete ? buffered : null;
+    }
+
+    private void writeScalar(JsonGenerator generator, JsonNode value, PlanNode planNode, String path, boolean replace,
+                             Counters counters) throws IOException {
+        JsonNode replacement = replace ? convertValue(value, planNode, path, counters) : null;
+        writeTree(generator, replacement != null ? replacement : value);
+    }
+
+    private static void writeTree(JsonGenerator generator, JsonNode value) throws IOException {
+        treeWriter.writeValue(generator, value);
+    }
+
+    // Plan bu yol ve tip için karar veriyorsa sadece plandaki kural denenir (NONE ise hiçbiri);
+    // kural sonuç vermezse şekil plandan farklı demektir ve tüm kurallar sırayla denenir
+    private JsonNode convertValue(JsonNode value, PlanNode planNode, String path, Counters counters) {
+        if (!isCandidate(value)) {
+            return null;
+        }
+        if (planNode != null && planNode.matches(value)) {
+            if (planNode.rule == PlanNode.NO_RULE) {
+                return null;
+            }
+            JsonNode result = applyRule(planNode.rule, value, path, counters);
+            if (result != null) {
+                if (counters != null) {
+                    counters.ruleHits[planNode.rule]++;
+                }
+                return result;
+            }
+            if (counters != null) {
+                counters.planFallbacks++;
+            }
+        }
+        return applyRules(value, path, counters);
+    }
+
+    private JsonNode applyRules(JsonNode value, String path, Counters counters) {
+        for (int i = 0; i < rules.length; i++) {
+            JsonNode result = applyRule(i, value, path, counters);
+            if (result != null) {
+                if (counters != null) {
+                    counters.ruleHits[i]++;
+                }
+                return result;
+            }
+        }
+        return null;
+    }
+
+    private JsonNode applyRule(int index, JsonNode value, String path, Counters counters) {
+        if (counters == null || hitNames[index] == null) {
+            return rules[index].apply(value, path);
+        }
+        counters.rule = index;
+        return rules[index].apply(value, path, counters);
+    }
+
+    // Sonuç veren ilk kuralın indeksi, yoksa -1 (plan öğrenirken)
+    private int matchingRule(JsonNode value, String path) {
+        for (int i = 0; i < rules.length; i++) {
+            if (rules[i].apply(value, path) != null) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private Counters begin() {
+        return listener != null ? new Counters(hitNames) : null;
+    }
+
+    private void finish(Counters counters, long inputLength, long outputLength) {
+        if (counters == null) {
+            return;
+        }
+        long nanos = System.nanoTime() - counters.start;
+        Map<String, Long> ruleHits = new LinkedHashMap<>();
+        for (int i = 0; i < rules.length; i++) {
+            long unnamed = counters.ruleHits[i];
+            if (hitNames[i] != null) {
+                for (int j = 0; j < hitNames[i].length; j++) {
+                    ruleHits.merge(hitNames[i][j], counters.namedHits[i][j], Long::sum);
+                    unnamed -= counters.namedHits[i][j];
+                }
+                // Alt adını bildirmeden sonuç veren isabetler kuralın adıyla sayılır
+                if (unnamed == 0) {
+                    continue;
+                }
+            }
+            ruleHits.merge(rules[i].name(), unnamed, Long::sum);
+        }
+        listener.onConversion(new ConversionListener.Event(nanos, counters.nodes, ruleHits, counters.planFallbacks,
+                inputLength, outputLength));
+    }
+
+    private JsonNode read(TreeReader reader) throws IOException {
+        try {
+            return reader.read();
+        } catch (JsonProcessingException e) {
+            parseFailed(e);
+            throw e;
+        }
+    }
+
+    private void parseFailed(Exception error) {
+        if (listener != null) {
+            listener.onParseFailure(error);
+        }
+    }
+
+    private interface TreeReader {
+        JsonNode read() throws IOException;
+    }
+
+    // ConversionPlan.Node'un kural adları bu motorun kural indekslerine çevrilmiş hali
+    private static final class PlanNode {
+        static final int UNKNOWN = -2;
+        static final int NO_RULE = -1;
+
+        private final int rule;
+        private final JsonNodeType type;
+        private final boolean floatingPoint;
+        private final Map<String, PlanNode> fields;
+        private final PlanNode items;
+
+        private PlanNode(int rule, JsonNodeType type, boolean floatingPoint, Map<String, PlanNode> fields,
+                         PlanNode items) {
+            this.rule = rule;
+            this.type = type;
+            this.floatingPoint = floatingPoint;
+            this.fields = fields;
+            this.items = items;
+        }
+
+        private boolean matches(JsonNode value) {
+            if (rule == UNKNOWN) {
+                return false;
+            }
+            if (type == null) {
+                return true;
+            }
+            // Tam sayı olarak öğrenilen yola ondalıklı değer (ya da tersi) gelirse plan kullanılmaz
+            return type == value.getNodeType()
+                    && (type != JsonNodeType.NUMBER || floatingPoint == value.isFloatingPointNumber());
+        }
+
+        private PlanNode field(String key) {
+            return fields != null ? fields.get(key) : null;
+        }
+    }
+
+    private PlanNode compile(ConversionPlan.Node node) {
+        Map<String, PlanNode> fields = null;
+        if (node.fields != null) {
+            fields = new HashMap<>();
+            for (Map.Entry<String, ConversionPlan.Node> field : node.fields.entrySet()) {
+                fields.put(field.getKey(), compile(field.getValue()));
+            }
+        }
+        PlanNode items = node.items != null ? compile(node.items) : null;
+        return new PlanNode(ruleIndex(node.rule), node.type, node.floatingPoint, fields, items);
+    }
+
+    private int ruleIndex(String name) {
+        if (name == null) {
+            return PlanNode.UNKNOWN;
+        }
+        if (name.equals(ConversionPlan.NONE)) {
+            return PlanNode.NO_RULE;
+        }
+        for (int i = 0; i < rules.length; i++) {
+            if (rules[i].name().equals(name)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Planda motorda olmayan kural var: " + name);
+    }
+
+    // Tek bir çağrının sayaçları; paralel modda her parça kendi örneğini kullanır.
+    // hitNames tanımlı kurallara isabet bildirimi için IntConsumer olarak verilir (rule: çağrılan kuralın indeksi)
+    private static final class Counters implements IntConsumer {
+        private final long start = System.nanoTime();
+        private final long[] ruleHits;
+        private final long[][] namedHits;
+        private long nodes;
+        private long planFallbacks;
+        private int rule;
+
+        private Counters(String[][] hitNames) {
+            this.ruleHits = new long[hitNames.length];
+            this.namedHits = new long[hitNames.length][];
+            for (int i = 0; i < hitNames.length; i++) {
+                if (hitNames[i] != null) {
+                    namedHits[i] = new long[hitNames[i].length];
+                }
+            }
+        }
+
+        @Override
+        public void accept(int hit) {
+            namedHits[rule][hit]++;
+        }
+
+        private void add(Counters other) {
+            nodes += other.nodes;
+            planFallbacks += other.planFallbacks;
+            for (int i = 0; i < ruleHits.length; i++) {
+                ruleHits[i] += other.ruleHits[i];
+                if (namedHits[i] != null) {
+                    for (int j = 0; j < namedHits[i].length; j++) {
+                        namedHits[i][j] += other.namedHits[i][j];
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private final OutputStream output;
+        private long count;
+
+        private CountingOutputStream(OutputStream output) {
+            this.output = output;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            output.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            output.write(bytes, offset, length);
+            count += length;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            output.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            output.close();
+        }
+    }
+
+    private static boolean isCandidate(JsonNode node) {
+        if (node.isValueNode()) {
+            return true;
+        }
+        if (!node.isArray() || node.size() > MAX_CANDIDATE_ARRAY_SIZE) {
+            return false;
+        }
+        for (JsonNode item : node) {
+            if (!item.isValueNode()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String rootPath() {
+        return trackPaths ? "" : null;
+    }
+
+    private String fieldPath(String path, String key) {
+        if (!trackPaths) {
+            return null;
+        }
+        return path.isEmpty() ? key : path + "." + key;
+    }
+
+    private String itemPath(String path) {
+        return trackPaths ? path + ".*" : null;
+    }
+
+    public static final class Builder {
+
+        private Output output = Output.REPLACE;
+        private final List<Rule> rules = new ArrayList<>();
+        private ForkJoinPool pool;
+        private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+        private ConversionListener listener;
+
+        private Builder() {
+        }
+
+        public Builder output(Output output) {
+            this.output = output;
+            return this;
+        }
+
+        public Builder rule(Rule rule) {
+            rules.add(rule);
+            return this;
+        }
+
+        public Builder rules(List<? extends Rule> rules) {
+            this.rules.addAll(rules);
+            return this;
+        }
+
+        // En az threshold elemanlı diziler (ör. binlerce satırlık rapor) ağaç modunda havuzda paralel işlenir.
+        // Kuralların thread-safe olması gerekir; hazır kurallar öyledir. Streaming mod sıralı kalır.
+        public Builder parallel(ForkJoinPool pool, int threshold) {
+            if (threshold < 1) {
+                throw new IllegalArgumentException("threshold en az 1 olmalı: " + threshold);
+            }
+            this.pool = pool;
+            this.parallelThreshold = threshold;
+            return this;
+        }
+
+        public Builder parallel(int threshold) {
+            return parallel(ForkJoinPool.commonPool(), threshold);
+        }
+
+        // null ise ölçüm kapalıdır
+        public Builder listener(ConversionListener listener) {
+            this.listener = listener;
+            return this;
+        }
+
+        public JsonConversionEngine build() {
+            return new JsonConversionEngine(this);
+        }
+    }
+}
@@ -1,70 +1,54 @@
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.*;
+import com.ykl.leasing.ngla.system.common.util.ConversionListener;
+import com.ykl.leasing.ngla.system.common.util.ConversionRules;
+import com.ykl.leasing.ngla.system.common.util.JsonConversionEngine;
 
 import java.io.IOException;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.Iterator;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
 
 public class JsonDateToStringConverter {
 
-    // Tarih ve TarihSaat formatları
-    private static final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd.MM.yyyy");
-    private static final DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
+    private static volatile JsonConversionEngine engine = engineBuilder().build();
+
+    // Ölçümleri dinleyiciye bildiren motora geçer; null ölçümü kapatır
+    public static void setListener(ConversionListener listener) {
+        engine = engineBuilder().listener(listener).build();
+    }
 
     public static String convertDatesToFormattedStrings(String json) throws IOException {
-        ObjectMapper mapper = new ObjectMapper();
-        JsonNode root = mapper.readTree(json);
-        JsonNode result = convertDates(root);
-        return mapper.writeValueAsString(result);
+        return engine.convert(json);
+    }
+
+    public static byte[] convertDatesToFormattedStrings(byte[] json) throws IOException {
+        return engine.convert(json);
     }
 
-    private static JsonNode convertDates(JsonNode node) {
-        if (node.isObject()) {
-            ObjectNode newObj = JsonNodeFactory.instance.objectNode();
-            Iterator<String> fields = node.fieldNames();
-            while (fields.hasNext()) {
-                String field = fields.next();
-                newObj.set(field, convertDates(node.get(field)));
-            }
-            return newObj;
+    public static ByteBuffer convertDatesToFormattedStrings(ByteBuffer json) throws IOException {
+        return engine.convert(json);
+    }
 
-        } else if (node.isArray()) {
-            // Eğer tarih dizi [yyyy,MM,dd] şeklindeyse
-            if (node.size() == 3 && node.get(0).isInt() && node.get(1).isInt() && node.get(2).isInt()) {
-                try {
-                    LocalDate date = LocalDate.of(node.get(0).asInt(), node.get(1).asInt(), node.get(2).asInt());
-                    return new TextNode(date.format(dateFormatter));
-                } catch (Exception e) {
-                    return node; // Format uymazsa orijinali döndür
-                }
-            }
+    // Ağaç kurulmadan token token dönüştürülür; akışlar kapatılmaz
+    public static void convertDatesToFormattedStrings(InputStream input, OutputStream output) throws IOException {
+        engine.convert(input, output);
+    }
 
-            // Eğer tarih-saat dizi [yyyy,MM,dd,HH,mm] şeklindeyse
-            if (node.size() == 5 &&
-                node.get(0).isInt() && node.get(1).isInt() && node.get(2).isInt() &&
-                node.get(3).isInt() && node.get(4).isInt()) {
-                try {
-                    LocalDateTime dateTime = LocalDateTime.of(
-                        node.get(0).asInt(), node.get(1).asInt(), node.get(2).asInt(),
-                        node.get(3).asInt(), node.get(4).asInt());
-                    return new TextNode(dateTime.format(dateTimeFormatter));
-                } catch (Exception e) {
-                    return node;
-                }
-            }
+    // Girdi ağacına dokunmadan dönüştürülmüş yeni bir ağaç döner
+    public static JsonNode convertDates(JsonNode node) {
+        return convertDates(node, false);
+    }
 
-            // Diğer array öğeleri için döngü
-            ArrayNode newArr = JsonNodeFactory.instance.arrayNode();
-            for (JsonNode item : node) {
-                newArr.add(convertDates(item));
-            }
-            return newArr;
+    // inPlace true ise ağaç kopyalanmadan yerinde değiştirilir (büyük yanıtlarda tepe bellek yarıya iner);
+    // kök düğümün kendisi de değişebileceği için dönen değer kullanılmalı
+    public static JsonNode convertDates(JsonNode node, boolean inPlace) {
+        return engine.apply(node, inPlace);
+    }
 
-        } else {
-            return node;
-        }
+    // [yyyy,MM,dd] -> dd.MM.yyyy, [yyyy,MM,dd,HH,mm] -> dd.MM.yyyy HH:mm
+    // Format uymayan diziler olduğu gibi bırakılır
+    public static JsonConversionEngine.Builder engineBuilder() {
+        return JsonConversionEngine.builder()
+                .rule(ConversionRules.dateArrays(false));
     }
 }
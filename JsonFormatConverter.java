@@ -1,89 +1,55 @@
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.*;
+import com.ykl.leasing.ngla.system.common.util.ConversionListener;
+import com.ykl.leasing.ngla.system.common.util.ConversionRules;
+import com.ykl.leasing.ngla.system.common.util.FixedDecimalFormat;
+import com.ykl.leasing.ngla.system.common.util.JsonConversionEngine;
 
 import java.io.IOException;
-import java.math.BigDecimal;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.Iterator;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
 
 public class JsonFormatConverter {
 
-    // Tarih ve TarihSaat formatları
-    private static final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd.MM.yyyy");
-    private static final DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
+    private static final FixedDecimalFormat moneyFormat = FixedDecimalFormat.ungrouped('.', " TL");
+    private static volatile JsonConversionEngine engine = engineBuilder().build();
+
+    // Ölçümleri dinleyiciye bildiren motora geçer; null ölçümü kapatır
+    public static void setListener(ConversionListener listener) {
+        engine = engineBuilder().listener(listener).build();
+    }
 
     public static String convertAllToFormattedStrings(String json) throws IOException {
-        ObjectMapper mapper = new ObjectMapper();
-        JsonNode root = mapper.readTree(json);
-        JsonNode result = convertNumbersAndDates(root);
-        return mapper.writeValueAsString(result);
+        return engine.convert(json);
     }
 
-    private static JsonNode convertNumbersAndDates(JsonNode node) {
-        if (node.isObject()) {
-            ObjectNode newObj = JsonNodeFactory.instance.objectNode();
-            Iterator<String> fields = node.fieldNames();
-            while (fields.hasNext()) {
-                String field = fields.next();
-                newObj.set(field, convertNumbersAndDates(node.get(field)));
-            }
-            return newObj;
+    public static byte[] convertAllToFormattedStrings(byte[] json) throws IOException {
+        return engine.convert(json);
+    }
 
-        } else if (node.isArray()) {
-            ArrayNode newArr = JsonNodeFactory.instance.arrayNode();
-            for (JsonNode item : node) {
-                newArr.add(convertNumbersAndDates(item));
-            }
-            return newArr;
+    public static ByteBuffer convertAllToFormattedStrings(ByteBuffer json) throws IOException {
+        return engine.convert(json);
+    }
 
-        } else if (node.isTextual()) {
-            return node;
-        } else if (node.isNumber()) {
-            // Sayılar (Double, Long, BigDecimal vb.) için format uygula
-            if (node.isDouble() || node.isFloat() || node.isBigDecimal()) {
-                return new TextNode(formatNumber(node.asText()));
-            }
-            return node;
+    // Ağaç kurulmadan token token dönüştürülür; akışlar kapatılmaz
+    public static void convertAllToFormattedStrings(InputStream input, OutputStream output) throws IOException {
+        engine.convert(input, output);
+    }
 
-        } else if (node.isArray() || node.isObject()) {
-            // Tarihler için dönüştürme işlemi yap
-            if (node.size() == 3 && node.get(0).isInt() && node.get(1).isInt() && node.get(2).isInt()) {
-                // Tarih (YYYY, MM, DD) array'i
-                try {
-                    LocalDate date = LocalDate.of(node.get(0).asInt(), node.get(1).asInt(), node.get(2).asInt());
-                    return new TextNode(date.format(dateFormatter));
-                } catch (Exception e) {
-                    return node;
-                }
-            }
+    // Girdi ağacına dokunmadan dönüştürülmüş yeni bir ağaç döner
+    public static JsonNode convertNumbersAndDates(JsonNode node) {
+        return convertNumbersAndDates(node, false);
+    }
 
-            if (node.size() == 5 &&
-                node.get(0).isInt() && node.get(1).isInt() && node.get(2).isInt() &&
-                node.get(3).isInt() && node.get(4).isInt()) {
-                // Tarih-Saat (YYYY, MM, DD, HH, MM) array'i
-                try {
-                    LocalDateTime dateTime = LocalDateTime.of(
-                        node.get(0).asInt(), node.get(1).asInt(), node.get(2).asInt(),
-                        node.get(3).asInt(), node.get(4).asInt());
-                    return new TextNode(dateTime.format(dateTimeFormatter));
-                } catch (Exception e) {
-                    return node;
-                }
-            }
-        }
-        return node;
+    // inPlace true ise ağaç kopyalanmadan yerinde değiştirilir (büyük yanıtlarda tepe bellek yarıya iner);
+    // kök düğümün kendisi de değişebileceği için dönen değer kullanılmalı
+    public static JsonNode convertNumbersAndDates(JsonNode node, boolean inPlace) {
+        return engine.apply(node, inPlace);
     }
 
-    // Sayısal format (TL formatında örneğin)
-    private static String formatNumber(String number) {
-        try {
-            BigDecimal value = new BigDecimal(number);
-            return value.setScale(2, BigDecimal.ROUND_HALF_UP).toString() + " TL";
-        } catch (NumberFormatException e) {
-            return number; // Hata durumunda orijinal değeri döndür
-        }
+    // Ondalıklı sayılar (Double, Float, BigDecimal) "1234.50 TL" şekline çevrilir, diğer değerlere dokunulmaz
+    public static JsonConversionEngine.Builder engineBuilder() {
+        return JsonConversionEngine.builder()
+                .rule(ConversionRules.decimals(moneyFormat::format));
     }
 }
@@ -0,0 +1,18 @@
+package com.ykl.leasing.ngla.system.common.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+// Dönüştürücülerin ortak kullandığı ObjectMapper. Her çağrıda yeni mapper oluşturmak hem pahalıdır
+// hem de Jackson'ın serializer ve sembol tablosu önbelleklerini boşa çıkarır.
+// ObjectReader/ObjectWriter immutable ve thread-safe'dir.
+public final class JsonMappers {
+
+    public static final ObjectMapper MAPPER = new ObjectMapper();
+    public static final ObjectReader READER = MAPPER.reader();
+    public static final ObjectWriter WRITER = MAPPER.writer();
+
+    private JsonMappers() {
+    }
+}
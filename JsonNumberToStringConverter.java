@@ -1,63 +1,57 @@
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.*;
+import com.ykl.leasing.ngla.system.common.util.ConversionListener;
+import com.ykl.leasing.ngla.system.common.util.ConversionRules;
+import com.ykl.leasing.ngla.system.common.util.FixedDecimalFormat;
+import com.ykl.leasing.ngla.system.common.util.JsonConversionEngine;
 
 import java.io.IOException;
-import java.text.DecimalFormat;
-import java.text.DecimalFormatSymbols;
-import java.util.Iterator;
-import java.util.Locale;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
 
 public class JsonNumberToStringConverter {
 
     // Türkçe format (virgül ondalık ayraç, nokta binlik ayraç)
-    private static final DecimalFormat decimalFormat;
+    private static final FixedDecimalFormat decimalFormat = FixedDecimalFormat.TR;
+    private static volatile JsonConversionEngine engine = engineBuilder().build();
 
-    static {
-        DecimalFormatSymbols symbols = new DecimalFormatSymbols(new Locale("tr", "TR"));
-        symbols.setDecimalSeparator(',');
-        symbols.setGroupingSeparator('.');
-        decimalFormat = new DecimalFormat("###,##0.00", symbols);
+    // Ölçümleri dinleyiciye bildiren motora geçer; null ölçümü kapatır
+    public static void setListener(ConversionListener listener) {
+        engine = engineBuilder().listener(listener).build();
     }
 
     public static String convertAllNumbersToFormattedStrings(String originalJson) throws IOException {
-        ObjectMapper mapper = new ObjectMapper();
-        JsonNode root = mapper.readTree(originalJson);
-        JsonNode processed = convertNumbersToFormattedStrings(root);
-        return mapper.writeValueAsString(processed);
-    }
-
-    private static JsonNode convertNumbersToFormattedStrings(JsonNode node) {
-        if (node.isObject()) {
-            ObjectNode newObject = JsonNodeFactory.instance.objectNode();
-            Iterator<String> fieldNames = node.fieldNames();
-
-            while (fieldNames.hasNext()) {
-                String fieldName = fieldNames.next();
-                JsonNode child = node.get(fieldName);
-                newObject.set(fieldName, convertNumbersToFormattedStrings(child));
-            }
-
-            return newObject;
-
-        } else if (node.isArray()) {
-            ArrayNode newArray = JsonNodeFactory.instance.arrayNode();
-            for (JsonNode item : node) {
-                newArray.add(convertNumbersToFormattedStrings(item));
-            }
-            return newArray;
-
-        } else if (node.isNumber()) {
-            if (node.isFloatingPointNumber()) {
-                // Ondalıklı sayılar formatlanarak String'e çevrilir
-                return new TextNode(decimalFormat.format(node.asDouble()));
-            } else {
-                // Tam sayılar direkt String'e çevrilir (format yok)
-                return new TextNode(node.asText());
-            }
-
-        } else {
-            return node; // Diğer tipler olduğu gibi bırakılır
-        }
+        return engine.convert(originalJson);
+    }
+
+    public static byte[] convertAllNumbersToFormattedStrings(byte[] json) throws IOException {
+        return engine.convert(json);
+    }
+
+    public static ByteBuffer convertAllNumbersToFormattedStrings(ByteBuffer json) throws IOException {
+        return engine.convert(json);
+    }
+
+    // Ağaç kurulmadan token token dönüştürülür; akışlar kapatılmaz
+    public static void convertAllNumbersToFormattedStrings(InputStream input, OutputStream output) throws IOException {
+        engine.convert(input, output);
+    }
+
+    // Girdi ağacına dokunmadan dönüştürülmüş yeni bir ağaç döner
+    public static JsonNode convertNumbersToFormattedStrings(JsonNode node) {
+        return convertNumbersToFormattedStrings(node, false);
+    }
+
+    // inPlace true ise ağaç kopyalanmadan yerinde değiştirilir (büyük yanıtlarda tepe bellek yarıya iner);
+    // kök düğümün kendisi de değişebileceği için dönen değer kullanılmalı
+    public static JsonNode convertNumbersToFormattedStrings(JsonNode node, boolean inPlace) {
+        return engine.apply(node, inPlace);
+    }
+
+    // Ondalıklı sayılar formatlanarak, tam sayılar formatsız String'e çevrilir; diğer tipler olduğu gibi bırakılır
+    public static JsonConversionEngine.Builder engineBuilder() {
+        return JsonConversionEngine.builder()
+                .rule(ConversionRules.decimals(decimalFormat::format))
+                .rule(ConversionRules.integersAsText());
     }
 }
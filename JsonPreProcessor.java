@@ -3,127 +3,255 @@ package com.ykl.leasing.ngla.system.common.util;
 import com.fasterxml.jackson.databind.*;
 import com.fasterxml.jackson.databind.node.*;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
 import java.math.BigDecimal;
-import java.text.DecimalFormat;
-import java.text.DecimalFormatSymbols;
+import java.nio.file.Path;
 import java.time.*;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalQuery;
 import java.util.*;
-import java.util.regex.Pattern;
+import java.util.function.IntConsumer;
 import java.util.stream.Collectors;
 
 public class JsonPreProcessor {
 
-    private static final ObjectMapper mapper = new ObjectMapper();
     private static final DateTimeFormatter defaultDateTimeFormatter = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
     private static final DateTimeFormatter defaultDateFormatter = DateTimeFormatter.ofPattern("dd.MM.yyyy");
-    private static final DecimalFormat decimalFormatter = new DecimalFormat("#,##0.00",
-            DecimalFormatSymbols.getInstance(new Locale("tr", "TR")));
+    private static final DateTimeFormatter isoDateTimeParser = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+    private static final DateTimeFormatter spacedDateTimeSecondsParser = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final DateTimeFormatter spacedDateTimeMinutesParser = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final DateTimeFormatter isoDateParser = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    // İşaretli/uzun yıllı metinlerde (DateStringShape.EXTENDED_YEAR) eski sırayla denenen parser'lar
+    private static final DateTimeFormatter[] extendedYearDateParsers = {
+            isoDateTimeParser, spacedDateTimeSecondsParser, isoDateParser, defaultDateFormatter, defaultDateTimeFormatter};
+    private static final DateTimeFormatter[] extendedYearDateTimeParsers = {
+            isoDateTimeParser, spacedDateTimeSecondsParser, spacedDateTimeMinutesParser, defaultDateTimeFormatter};
+    private static final FixedDecimalFormat decimalFormatter = FixedDecimalFormat.TR;
+    // UNKNOWN tipli formatter değer üretmez, kuralı yoktur
+    private static final FormatterSpec.Type[] FORMATTED_TYPES = {
+            FormatterSpec.Type.DATE, FormatterSpec.Type.DATETIME, FormatterSpec.Type.DECIMAL, FormatterSpec.Type.DEFAULT
+    };
+    private static volatile ConversionListener listener;
+
+    // Tüm enrich çağrılarının ölçümleri bu dinleyiciye bildirilir; null ölçümü kapatır
+    public static void setListener(ConversionListener conversionListener) {
+        listener = conversionListener;
+    }
 
     public static String enrichDatesAndNumbersWithFormattedStrings(String jsonString, Map<String, String> customFormatters) {
+        return enrichDatesAndNumbersWithFormattedStrings(jsonString, FormatterRules.cached(customFormatters));
+    }
+
+    public static byte[] enrichDatesAndNumbersWithFormattedStrings(byte[] json, Map<String, String> customFormatters) {
+        return enrichDatesAndNumbersWithFormattedStrings(json, FormatterRules.cached(customFormatters));
+    }
+
+    public static void enrichDatesAndNumbersWithFormattedStrings(InputStream input, OutputStream output, Map<String, String> customFormatters) {
+        enrichDatesAndNumbersWithFormattedStrings(input, output, FormatterRules.cached(customFormatters));
+    }
+
+    public static void enrichDatesAndNumbersWithFormattedStrings(Path input, Path output, Map<String, String> customFormatters) {
+        enrichDatesAndNumbersWithFormattedStrings(input, output, FormatterRules.cached(customFormatters));
+    }
+
+    public static void enrichDatesAndNumbersWithFormattedStrings(Reader reader, Writer writer, Map<String, String> customFormatters) {
+        enrichDatesAndNumbersWithFormattedStrings(reader, writer, FormatterRules.cached(customFormatters));
+    }
+
+    public static String enrichDatesAndNumbersWithFormattedStrings(String jsonString, FormatterRules formatterRules) {
         try {
-            JsonNode rootNode = mapper.readTree(jsonString);
-            JsonNode enrichedNode = enrichNode(rootNode, "", customFormatters);
-            return mapper.writeValueAsString(enrichedNode);
+            return engine(formatterRules).convert(jsonString);
         } catch (Exception e) {
             throw new RuntimeException("JSON işlenirken hata oluştu: " + e.getMessage(), e);
         }
     }
 
-    private static JsonNode enrichNode(JsonNode node, String path, Map<String, String> customFormatters) {
-        if (node.isObject()) {
-            ObjectNode object = (ObjectNode) node;
-            List<String> keys = new ArrayList<>();
-            object.fieldNames().forEachRemaining(keys::add);
-
-            for (String key : keys) {
-                JsonNode value = object.get(key);
-                String fullPath = path.isEmpty() ? key : path + "." + key;
-
-                JsonNode processedValue = enrichNode(value, fullPath, customFormatters);
-                object.set(key, processedValue);
-
-                Optional<Map.Entry<String, String>> matchedFormatter = getMatchingFormatter(fullPath, customFormatters);
-                if (matchedFormatter.isPresent()) {
-                    String formatterValue = matchedFormatter.get().getValue();
-                    String[] parts = formatterValue.split("\\|", 3);
-
-                    if (parts.length >= 2) {
-                        String type = parts[0].trim();
-                        String pattern = parts[1].trim();
-                        Locale locale = parts.length == 3 ? parseLocale(parts[2].trim()) : new Locale("tr", "TR");
-
-                        switch (type) {
-                            case "DATE":
-                                LocalDate parsedDate = tryParseDateNode(value);
-                                if (parsedDate != null) {
-                                    DateTimeFormatter df = DateTimeFormatter.ofPattern(pattern, locale);
-                                    object.put(key + "Formatted", parsedDate.format(df));
-                                }
-                                break;
-                            case "DATETIME":
-                                LocalDateTime parsedDateTime = tryParseDateTimeNode(value);
-                                if (parsedDateTime != null) {
-                                    DateTimeFormatter dtf = DateTimeFormatter.ofPattern(pattern, locale);
-                                    object.put(key + "Formatted", parsedDateTime.format(dtf));
-                                }
-                                break;
-                            case "DECIMAL":
-                                if (value.isNumber()) {
-                                    DecimalFormat df = new DecimalFormat(pattern, DecimalFormatSymbols.getInstance(locale));
-                                    object.put(key + "Formatted", df.format(value.numberValue()));
-                                } else if (value.isTextual()) {
-                                    if (isParsableToDecimal(value.asText()) && isFloatingPoint(value.asText())) {
-                                        BigDecimal val = new BigDecimal(value.asText());
-                                        DecimalFormat df = new DecimalFormat(pattern, DecimalFormatSymbols.getInstance(locale));
-                                        object.put(key + "Formatted", df.format(val));
-                                    }
-                                }
-                                break;
-                        }
-                    } else {
-                        // Default format fallback
-                        if (value.isNumber()) {
-                            object.put(key + "Formatted", decimalFormatter.format(value.numberValue()));
-                        } else if (value.isTextual() && isParsableToDecimal(value.asText()) && isFloatingPoint(value.asText())) {
-                            object.put(key + "Formatted", decimalFormatter.format(new BigDecimal(value.asText())));
-                        } else if (value.isArray() && isLikelyDateArray(value)) {
-                            String formattedDate = tryParseArrayDate(value);
-                            if (formattedDate != null) {
-                                object.put(key + "Formatted", formattedDate);
-                            }
-                        }
-                    }
-                } else {
-                    // Default format fallback if value is numeric and floating point
-                    if (value.isFloatingPointNumber()) {
-                        object.put(key + "Formatted", decimalFormatter.format(value.doubleValue()));
-                    } else if (value.isArray() && isLikelyDateArray(value)) {
-                        String formattedDate = tryParseArrayDate(value);
-                        if (formattedDate != null) {
-                            object.put(key + "Formatted", formattedDate);
-                        }
-                    }
-                }
+    public static byte[] enrichDatesAndNumbersWithFormattedStrings(byte[] json, FormatterRules formatterRules) {
+        try {
+            return engine(formatterRules).convert(json);
+        } catch (Exception e) {
+            throw new RuntimeException("JSON işlenirken hata oluştu: " + e.getMessage(), e);
+        }
+    }
+
+    public static void enrichDatesAndNumbersWithFormattedStrings(InputStream input, OutputStream output, FormatterRules formatterRules) {
+        try {
+            engine(formatterRules).convert(input, output);
+        } catch (Exception e) {
+            throw new RuntimeException("JSON işlenirken hata oluştu: " + e.getMessage(), e);
+        }
+    }
+
+    public static void enrichDatesAndNumbersWithFormattedStrings(Reader reader, Writer writer, FormatterRules formatterRules) {
+        try {
+            engine(formatterRules).convert(reader, writer);
+        } catch (Exception e) {
+            throw new RuntimeException("JSON işlenirken hata oluştu: " + e.getMessage(), e);
+        }
+    }
+
+    // Dosya String'e okunmadan dönüştürülür; heap kullanımı dosya boyutundan bağımsızdır
+    public static void enrichDatesAndNumbersWithFormattedStrings(Path input, Path output, FormatterRules formatterRules) {
+        try {
+            engine(formatterRules).convert(input, output);
+        } catch (Exception e) {
+            throw new RuntimeException("JSON işlenirken hata oluştu: " + e.getMessage(), e);
+        }
+    }
+
+    // Motor, FormatterRules başına bir kez kurulup kuralların yanında saklanır; setListener ile dinleyici
+    // değişmişse yeniden kurulur. Aynı anda kuran thread'lerden birinin motoru kalır, ikisi de aynı işi yapar.
+    private static JsonConversionEngine engine(FormatterRules formatterRules) {
+        JsonConversionEngine engine = formatterRules.preProcessorEngine;
+        if (engine == null || engine.listener() != listener) {
+            engine = engineBuilder(formatterRules).build();
+            formatterRules.preProcessorEngine = engine;
+        }
+        return engine;
+    }
+
+    // Aynı customFormatters ile çok sayıda belge işlenecekse yapılandırma bir kez derlenir;
+    // dönen motorun convert/convertAll metotları sadece belgeyi dolaşır
+    public static JsonConversionEngine compile(Map<String, String> customFormatters) {
+        return engineBuilder(FormatterRules.compile(customFormatters)).build();
+    }
+
+    // Aynı belge tekrar tekrar işlenecekse (polling): sadece değişen alt ağaçları yeniden formatlayan dönüştürücü.
+    // Belge başına bir örnek tutulmalı (bkz. IncrementalConverter)
+    public static IncrementalConverter incremental(Map<String, String> customFormatters) {
+        return new IncrementalConverter(engineBuilder(FormatterRules.cached(customFormatters)).build());
+    }
+
+    // Nesneler JSON'a yazılırken "<alan>Formatted" kardeşlerini ekleyen modül; enrich(mapper.writeValueAsString(nesne))
+    // turuna gerek kalmaz. Kardeş alanlar sadece bean alanları için üretilir (bkz. FormattingModule)
+    public static FormattingModule formattingModule(Map<String, String> customFormatters) {
+        return new FormattingModule(engineBuilder(FormatterRules.cached(customFormatters)).build());
+    }
+
+    // Eşleşen formatter kuralına (yoksa varsayılan kurala) göre her alanın yanına "<alan>Formatted" eklenir.
+    // Paralel, metrik vb. ayarlar için başlangıç noktası olarak kullanılabilir.
+    // Metriklerde tarih ve tutar dönüşümleri formatter tipine göre ayrı sayılır
+    // (FORMATTERS_DATE, FORMATTERS_DATETIME, FORMATTERS_DECIMAL, FORMATTERS_DEFAULT, FORMATTERS_UNMATCHED).
+    public static JsonConversionEngine.Builder engineBuilder(FormatterRules formatterRules) {
+        ConversionListener conversionListener = listener;
+        return JsonConversionEngine.builder()
+                .output(JsonConversionEngine.Output.FORMATTED_SIBLING)
+                .listener(conversionListener)
+                .rule(new FormatterRule(formatterRules, conversionListener));
+    }
+
+    // Yolu eşleşen formatter'a (yoksa varsayılan kurala) göre formatlar. Eşleşme FormatterRules'ta yol bazında
+    // önbellekte tutulur; yol başına tek eşleşme yapılır ve isabet formatter tipiyle bildirilir.
+    private static final class FormatterRule implements JsonConversionEngine.Rule {
+        // Sıra FORMATTED_TYPES ile aynı, sonda hiçbir formatter'a uymayanlar
+        private static final List<String> HIT_NAMES = typeNames();
+        private static final int UNMATCHED = FORMATTED_TYPES.length;
+
+        private final FormatterRules formatterRules;
+        private final ConversionListener conversionListener;
+
+        private FormatterRule(FormatterRules formatterRules, ConversionListener conversionListener) {
+            this.formatterRules = formatterRules;
+            this.conversionListener = conversionListener;
+        }
+
+        @Override
+        public JsonNode apply(JsonNode value, String path) {
+            return apply(value, path, null);
+        }
+
+        @Override
+        public JsonNode apply(JsonNode value, String path, IntConsumer hit) {
+            FormatterSpec spec = formatterRules.match(path);
+            String formatted = formatValue(value, spec);
+            if (formatted == null) {
+                return null;
+            }
+            if (hit != null) {
+                hit.accept(spec != null ? Arrays.asList(FORMATTED_TYPES).indexOf(spec.type()) : UNMATCHED);
             }
-        } else if (node.isArray()) {
-            ArrayNode array = (ArrayNode) node;
-            for (int i = 0; i < array.size(); i++) {
-                String indexedPath = path + ".*";
-                array.set(i, enrichNode(array.get(i), indexedPath, customFormatters));
+            if (conversionListener != null && spec != null) {
+                conversionListener.onPatternMatch(formatterRules.matchingPattern(path));
+            }
+            return TextNode.valueOf(formatted);
+        }
+
+        @Override
+        public String name() {
+            return "FORMATTERS";
+        }
+
+        @Override
+        public List<String> hitNames() {
+            return HIT_NAMES;
+        }
+
+        @Override
+        public boolean needsPath() {
+            return true;
+        }
+
+        private static List<String> typeNames() {
+            List<String> names = new ArrayList<>();
+            for (FormatterSpec.Type type : FORMATTED_TYPES) {
+                names.add("FORMATTERS_" + type.name());
             }
+            names.add("FORMATTERS_UNMATCHED");
+            return List.copyOf(names);
         }
-        return node;
     }
 
-    private static Optional<Map.Entry<String, String>> getMatchingFormatter(String path, Map<String, String> formatters) {
-        for (Map.Entry<String, String> entry : formatters.entrySet()) {
-            String key = entry.getKey().replace(".", "\\.").replace("*", ".*");
-            if (Pattern.matches(key, path)) {
-                return Optional.of(entry);
+    // spec null ise yol hiçbir formatter'a uymamıştır
+    private static String formatValue(JsonNode value, FormatterSpec spec) {
+        if (spec != null) {
+            switch (spec.type()) {
+                case DATE:
+                    LocalDate parsedDate = tryParseDateNode(value);
+                    if (parsedDate != null) {
+                        return parsedDate.format(spec.dateTimeFormatter());
+                    }
+                    break;
+                case DATETIME:
+                    LocalDateTime parsedDateTime = tryParseDateTimeNode(value);
+                    if (parsedDateTime != null) {
+                        return parsedDateTime.format(spec.dateTimeFormatter());
+                    }
+                    break;
+                case DECIMAL:
+                    if (value.isNumber()) {
+                        return spec.formatDecimal(value);
+                    } else if (value.isTextual()) {
+                        if (isParsableToDecimal(value.asText()) && isFloatingPoint(value.asText())) {
+                            BigDecimal val = new BigDecimal(value.asText());
+                            return spec.formatDecimal(val);
+                        }
+                    }
+                    break;
+                case DEFAULT:
+                    // Default format fallback
+                    if (value.isNumber()) {
+                        return decimalFormatter.format(value);
+                    } else if (value.isTextual() && isParsableToDecimal(value.asText()) && isFloatingPoint(value.asText())) {
+                        return decimalFormatter.format(new BigDecimal(value.asText()));
+                    } else if (value.isArray() && isLikelyDateArray(value)) {
+                        return tryParseArrayDate(value);
+                    }
+                    break;
+                default:
+                    break;
+            }
+        } else {
+            // Default format fallback if value is numeric and floating point
+            if (value.isFloatingPointNumber()) {
+                return decimalFormatter.format(value);
+            } else if (value.isArray() && isLikelyDateArray(value)) {
+                return tryParseArrayDate(value);
             }
         }
-        return Optional.empty();
+        return null;
     }
 
     private static boolean isLikelyDateArray(JsonNode array) {
@@ -152,16 +280,15 @@ public class JsonPreProcessor {
 
     private static LocalDate tryParseDateNode(JsonNode value) {
         if (value.isTextual()) {
-            String[] patterns = {
-                    "yyyy-MM-dd'T'HH:mm:ss",
-                    "yyyy-MM-dd HH:mm:ss",
-                    "yyyy-MM-dd",
-                    "dd.MM.yyyy",
-                    "dd.MM.yyyy HH:mm"
-            };
-            for (String pattern : patterns) {
+            String text = value.asText();
+            DateStringShape shape = DateStringShape.classify(text);
+            if (shape == DateStringShape.EXTENDED_YEAR) {
+                return parseFirst(text, extendedYearDateParsers, LocalDate::from);
+            }
+            DateTimeFormatter parser = dateParserFor(shape);
+            if (parser != null) {
                 try {
-                    return LocalDate.parse(value.asText(), DateTimeFormatter.ofPattern(pattern));
+                    return LocalDate.parse(text, parser);
                 } catch (Exception ignored) {
                 }
             }
@@ -176,15 +303,15 @@ public class JsonPreProcessor {
 
     private static LocalDateTime tryParseDateTimeNode(JsonNode value) {
         if (value.isTextual()) {
-            String[] patterns = {
-                    "yyyy-MM-dd'T'HH:mm:ss",
-                    "yyyy-MM-dd HH:mm:ss",
-                    "yyyy-MM-dd HH:mm",
-                    "dd.MM.yyyy HH:mm"
-            };
-            for (String pattern : patterns) {
+            String text = value.asText();
+            DateStringShape shape = DateStringShape.classify(text);
+            if (shape == DateStringShape.EXTENDED_YEAR) {
+                return parseFirst(text, extendedYearDateTimeParsers, LocalDateTime::from);
+            }
+            DateTimeFormatter parser = dateTimeParserFor(shape);
+            if (parser != null) {
                 try {
-                    return LocalDateTime.parse(value.asText(), DateTimeFormatter.ofPattern(pattern));
+                    return LocalDateTime.parse(text, parser);
                 } catch (Exception ignored) {
                 }
             }
@@ -202,9 +329,47 @@ public class JsonPreProcessor {
         return null;
     }
 
-    private static Locale parseLocale(String localeStr) {
-        String[] parts = localeStr.split("-");
-        return parts.length == 2 ? new Locale(parts[0], parts[1]) : new Locale(localeStr);
+    private static <T> T parseFirst(String text, DateTimeFormatter[] parsers, TemporalQuery<T> query) {
+        for (DateTimeFormatter parser : parsers) {
+            try {
+                return parser.parse(text, query);
+            } catch (Exception ignored) {
+            }
+        }
+        return null;
+    }
+
+    // Metnin şekline göre tek aday parser seçilir; şekli uymayan metinler parse edilmeye çalışılmaz
+    private static DateTimeFormatter dateParserFor(DateStringShape shape) {
+        switch (shape) {
+            case ISO_DATE_TIME_SECONDS:
+                return isoDateTimeParser;
+            case SPACED_DATE_TIME_SECONDS:
+                return spacedDateTimeSecondsParser;
+            case ISO_DATE:
+                return isoDateParser;
+            case DOTTED_DATE:
+                return defaultDateFormatter;
+            case DOTTED_DATE_TIME:
+                return defaultDateTimeFormatter;
+            default:
+                return null;
+        }
+    }
+
+    private static DateTimeFormatter dateTimeParserFor(DateStringShape shape) {
+        switch (shape) {
+            case ISO_DATE_TIME_SECONDS:
+                return isoDateTimeParser;
+            case SPACED_DATE_TIME_SECONDS:
+                return spacedDateTimeSecondsParser;
+            case SPACED_DATE_TIME_MINUTES:
+                return spacedDateTimeMinutesParser;
+            case DOTTED_DATE_TIME:
+                return defaultDateTimeFormatter;
+            default:
+                return null;
+        }
     }
 
     private static boolean isParsableToDecimal(String text) {
@@ -0,0 +1,79 @@
+package com.ykl.leasing.ngla.system.common.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Objects;
+
+// Dosyayı regionSize büyüklüğündeki parçalar halinde sırayla belleğe eşleyerek (mmap) okur.
+// Veri heap'e sadece okuyanın buffer'ı kadar kopyalanır; tek bir eşleme 2GB'ı geçemediği için
+// büyük dosyalar parça parça eşlenir. Bırakılan eşlemeler GC ile serbest kalır (heap dışı).
+public final class MappedFileInputStream extends InputStream {
+
+    static final long DEFAULT_REGION_SIZE = 64L << 20;
+
+    private final FileChannel channel;
+    private final long size;
+    private final long regionSize;
+    private long regionStart;
+    private MappedByteBuffer region;
+
+    public MappedFileInputStream(FileChannel channel) throws IOException {
+        this(channel, DEFAULT_REGION_SIZE);
+    }
+
+    public MappedFileInputStream(FileChannel channel, long regionSize) throws IOException {
+        if (regionSize < 1 || regionSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("regionSize 1 ile " + Integer.MAX_VALUE + " arasında olmalı: " + regionSize);
+        }
+        this.channel = channel;
+        this.size = channel.size();
+        this.regionSize = regionSize;
+    }
+
+    @Override
+    public int read() throws IOException {
+        return nextRegion() ? region.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        Objects.checkFromIndexSize(offset, length, buffer.length);
+        if (length == 0) {
+            return 0;
+        }
+        if (!nextRegion()) {
+            return -1;
+        }
+        int count = Math.min(length, region.remaining());
+        region.get(buffer, offset, count);
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return region != null ? region.remaining() : 0;
+    }
+
+    // Channel de kapatılır
+    @Override
+    public void close() throws IOException {
+        region = null;
+        channel.close();
+    }
+
+    // Geçerli parça bittiyse sıradakini eşler; dosya sonundaysa false
+    private boolean nextRegion() throws IOException {
+        if (region != null && region.hasRemaining()) {
+            return true;
+        }
+        long next = region == null ? 0 : regionStart + region.capacity();
+        if (next >= size) {
+            return false;
+        }
+        regionStart = next;
+        region = channel.map(FileChannel.MapMode.READ_ONLY, next, Math.min(regionSize, size - next));
+        return true;
+    }
+}
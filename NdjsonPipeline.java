@@ -0,0 +1,252 @@
+package com.ykl.leasing.ngla.system.common.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Satır başına bir JSON kaydı (NDJSON / JSON Lines) için üç aşamalı hat: parse -> dönüştür -> yaz.
+// Parse ve dönüştürme aşamaları kendi thread'lerinde, yazma çağıran thread'de çalışır. Aşamalar arasındaki
+// sınırlı kuyruklar yavaş aşamanın öncekileri bekletmesini (backpressure) sağlar; kayıtlar kuyruklarda
+// batchSize'lık paketler halinde taşınır, sıra korunur.
+//
+// Bozuk satırlar (geçersiz JSON, tek satırda birden fazla değer ya da kuralın fırlattığı hata) çıktıya yazılmaz,
+// MalformedLineHandler'a bildirilir ve akış devam eder. Boş satırlar atlanır.
+public final class NdjsonPipeline {
+
+    public interface MalformedLineHandler {
+        // Çağıran (yazma) thread'inde, satır sırasıyla çağrılır
+        void onMalformedLine(long lineNumber, String line, Exception error);
+    }
+
+    // lines: boş olmayan satır sayısı
+    public record Summary(long lines, long converted, long malformed) {
+    }
+
+    static final int DEFAULT_QUEUE_CAPACITY = 16;
+    static final int DEFAULT_BATCH_SIZE = 128;
+
+    private static final ObjectReader lineReader = JsonMappers.READER.with(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+
+    // Aşamanın bittiğini bildiren paket
+    private static final List<Item> END = List.of();
+
+    private final JsonConversionEngine engine;
+    private final int queueCapacity;
+    private final int batchSize;
+    private final MalformedLineHandler malformedLineHandler;
+
+    private NdjsonPipeline(Builder builder) {
+        this.engine = builder.engine;
+        this.queueCapacity = builder.queueCapacity;
+        this.batchSize = builder.batchSize;
+        this.malformedLineHandler = builder.malformedLineHandler;
+    }
+
+    public static Builder builder(JsonConversionEngine engine) {
+        return new Builder(engine);
+    }
+
+    // UTF-8; akışlar kapatılmaz
+    public Summary convert(InputStream input, OutputStream output) throws IOException {
+        Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+        Summary summary = convert(new InputStreamReader(input, StandardCharsets.UTF_8), writer);
+        writer.flush();
+        return summary;
+    }
+
+    public Summary convert(Reader reader, Writer writer) throws IOException {
+        BufferedReader lines = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader, 1 << 16);
+        BlockingQueue<List<Item>> parsed = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<List<Item>> converted = new ArrayBlockingQueue<>(queueCapacity);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        Thread parseStage = start("ndjson-parse", parsed, failure, () -> parse(lines, parsed, failure));
+        Thread convertStage = start("ndjson-convert", converted, failure, () -> convert(parsed, converted));
+        try {
+            return write(converted, writer, failure);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("NDJSON dönüşümü kesildi");
+        } finally {
+            // Normal bitişte thread'ler zaten sonlanmıştır; hata durumunda kuyrukta bekleyenler bırakılır
+            parseStage.interrupt();
+            convertStage.interrupt();
+        }
+    }
+
+    private void parse(BufferedReader lines, BlockingQueue<List<Item>> out, AtomicReference<Throwable> failure)
+            throws InterruptedException {
+        List<Item> batch = new ArrayList<>(batchSize);
+        long lineNumber = 0;
+        try {
+            String line;
+            while ((line = lines.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                batch.add(parseLine(lineNumber, line));
+                if (batch.size() == batchSize) {
+                    out.put(batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+        } catch (IOException e) {
+            // Okuma hatası satır hatası değildir, yazma aşamasında fırlatılır
+            failure.compareAndSet(null, e);
+        }
+        if (!batch.isEmpty()) {
+            out.put(batch);
+        }
+        out.put(END);
+    }
+
+    private static Item parseLine(long lineNumber, String line) {
+        try {
+            return new Item(lineNumber, line, lineReader.readTree(line), null);
+        } catch (IOException e) {
+            return new Item(lineNumber, line, null, e);
+        }
+    }
+
+    private void convert(BlockingQueue<List<Item>> in, BlockingQueue<List<Item>> out) throws InterruptedException {
+        List<Item> batch;
+        while ((batch = in.take()) != END) {
+            for (int i = 0; i < batch.size(); i++) {
+                Item item = batch.get(i);
+                if (item.error() != null) {
+                    continue;
+                }
+                try {
+                    batch.set(i, new Item(item.lineNumber(), item.line(), engine.apply(item.node()), null));
+                } catch (RuntimeException e) {
+                    batch.set(i, new Item(item.lineNumber(), item.line(), null, e));
+                }
+            }
+            out.put(batch);
+        }
+        out.put(END);
+    }
+
+    private Summary write(BlockingQueue<List<Item>> in, Writer writer, AtomicReference<Throwable> failure)
+            throws IOException, InterruptedException {
+        long lines = 0;
+        long converted = 0;
+        long malformed = 0;
+        try (JsonGenerator generator = JsonMappers.MAPPER.getFactory().createGenerator(writer)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Kayıtlar arasına Jackson'ın varsayılan boşluğu yerine sadece satır sonu yazılır
+            generator.setRootValueSeparator(null);
+            List<Item> batch;
+            while ((batch = in.take()) != END) {
+                for (Item item : batch) {
+                    lines++;
+                    if (item.error() != null) {
+                        malformed++;
+                        malformedLineHandler.onMalformedLine(item.lineNumber(), item.line(), item.error());
+                        continue;
+                    }
+                    JsonMappers.MAPPER.writeTree(generator, item.node());
+                    generator.writeRaw('\n');
+                    converted++;
+                }
+            }
+            generator.flush();
+        }
+
+        Throwable error = failure.get();
+        if (error instanceof IOException e) {
+            throw e;
+        } else if (error instanceof RuntimeException e) {
+            throw e;
+        } else if (error instanceof Error e) {
+            throw e;
+        }
+        return new Summary(lines, converted, malformed);
+    }
+
+    // Aşama beklenmedik şekilde çökerse hata kaydedilir ve sonraki aşamanın beklememesi için END gönderilir
+    private static Thread start(String name, BlockingQueue<List<Item>> out, AtomicReference<Throwable> failure, Stage stage) {
+        Thread thread = new Thread(() -> {
+            try {
+                stage.run();
+            } catch (InterruptedException e) {
+                // Yazma aşaması bitti ya da hata aldı, hat kapatılıyor
+            } catch (Throwable t) {
+                failure.compareAndSet(null, t);
+                try {
+                    out.put(END);
+                } catch (InterruptedException ignored) {
+                    // Hat zaten kapatılıyor
+                }
+            }
+        }, name);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    private interface Stage {
+        void run() throws InterruptedException;
+    }
+
+    // node ve error'dan sadece biri doludur
+    private record Item(long lineNumber, String line, JsonNode node, Exception error) {
+    }
+
+    public static final class Builder {
+
+        private final JsonConversionEngine engine;
+        private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+        private int batchSize = DEFAULT_BATCH_SIZE;
+        private MalformedLineHandler malformedLineHandler = (lineNumber, line, error) -> {
+        };
+
+        private Builder(JsonConversionEngine engine) {
+            this.engine = engine;
+        }
+
+        // Aşamalar arası kuyrukta bekleyebilecek en fazla paket sayısı
+        public Builder queueCapacity(int queueCapacity) {
+            if (queueCapacity < 1) {
+                throw new IllegalArgumentException("queueCapacity en az 1 olmalı: " + queueCapacity);
+            }
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        public Builder batchSize(int batchSize) {
+            if (batchSize < 1) {
+                throw new IllegalArgumentException("batchSize en az 1 olmalı: " + batchSize);
+            }
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        public Builder onMalformedLine(MalformedLineHandler malformedLineHandler) {
+            this.malformedLineHandler = malformedLineHandler;
+            return this;
+        }
+
+        public NdjsonPipeline build() {
+            return new NdjsonPipeline(this);
+        }
+    }
+}
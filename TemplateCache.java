@@ -0,0 +1,224 @@
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// Base64'e çevrilmiş şablonların (ör. Template.docx) önbelleği. Kayıt, kaynak adı ve içeriğin parmak iziyle
+// tutulur: dosya sisteminde ya da jar'da son değişiklik zamanı + boyut, bu bilgi yoksa içeriğin SHA-256 özeti.
+// Parmak izi değişen şablon yeniden okunur ve kodlanır. Özet, kodlama sırasında aynı okumada hesaplanır ve kayıtta
+// saklanır; önbellekteki kayıt revalidateAfter süresi dolana (ya da invalidate çağrılana) kadar yeniden özetlenmez.
+//
+// Toplam boyut maxBytes ile sınırlıdır; aşılınca en uzun süredir kullanılmayan şablonlar atılır.
+// Thread-safe'dir; okuma/kodlama kilit dışında yapılır.
+public class TemplateCache {
+
+    static final long DEFAULT_MAX_BYTES = 64L << 20;
+    static final Duration DEFAULT_REVALIDATE_AFTER = Duration.ofMinutes(1);
+
+    private final ClassLoader classLoader;
+    private final long maxBytes;
+    private final long revalidateAfterNanos;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public TemplateCache() {
+        this(Base64Encoder.class.getClassLoader(), DEFAULT_MAX_BYTES);
+    }
+
+    public TemplateCache(ClassLoader classLoader, long maxBytes) {
+        this(classLoader, maxBytes, DEFAULT_REVALIDATE_AFTER);
+    }
+
+    // revalidateAfter: SHA-256 parmak izli kaydın içeriği yeniden okunup özetlenmeden kullanılacağı süre
+    public TemplateCache(ClassLoader classLoader, long maxBytes, Duration revalidateAfter) {
+        if (maxBytes < 1) {
+            throw new IllegalArgumentException("maxBytes en az 1 olmalı: " + maxBytes);
+        }
+        if (revalidateAfter.isNegative()) {
+            throw new IllegalArgumentException("revalidateAfter negatif olamaz: " + revalidateAfter);
+        }
+        this.classLoader = classLoader;
+        this.maxBytes = maxBytes;
+        this.revalidateAfterNanos = revalidateAfter.toNanos();
+    }
+
+    // Uygulama açılırken sık kullanılan şablonları önceden kodlamak için
+    public void preload(String... resourceNames) throws IOException {
+        for (String resourceName : resourceNames) {
+            get(resourceName);
+        }
+    }
+
+    // Şablonun Base64 hali. Önbellekte güncel kayıt varsa dosya okunmaz ve tekrar kodlanmaz
+    // (parmak izi SHA-256 ise revalidateAfter dolduğunda sadece özet için okunur).
+    public String get(String resourceName) throws IOException {
+        URL url = classLoader.getResource(resourceName);
+        if (url == null) {
+            throw new FileNotFoundException(resourceName + " bulunamadı! resources klasöründe olduğundan emin olun.");
+        }
+        Probe probe = probe(url);
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(resourceName);
+        }
+        if (entry != null) {
+            if (probe.fingerprint() != null ? entry.fingerprint().equals(probe.fingerprint()) : isCurrent(resourceName, url, entry)) {
+                hits.increment();
+                return entry.base64();
+            }
+        }
+        misses.increment();
+        MessageDigest digest = probe.fingerprint() == null ? sha256() : null;
+        String base64 = encode(url, probe.size(), digest);
+        String fingerprint = digest == null ? probe.fingerprint() : digestFingerprint(digest);
+        put(resourceName, new Entry(fingerprint, base64, System.nanoTime()));
+        return base64;
+    }
+
+    // "fieldName": "<base64>" alanını önbellekteki şablonla yazar
+    public void writeField(JsonGenerator generator, String fieldName, String resourceName) throws IOException {
+        generator.writeStringField(fieldName, get(resourceName));
+    }
+
+    public synchronized void invalidate(String resourceName) {
+        Entry removed = entries.remove(resourceName);
+        if (removed != null) {
+            totalBytes -= removed.size();
+        }
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), entries.size(), totalBytes);
+    }
+
+    public record Stats(long hits, long misses, long evictions, int entries, long bytes) {
+    }
+
+    private synchronized void put(String resourceName, Entry entry) {
+        // Sınırdan büyük şablon önbelleğe alınmaz
+        if (entry.size() > maxBytes) {
+            return;
+        }
+        Entry previous = entries.put(resourceName, entry);
+        if (previous != null) {
+            totalBytes -= previous.size();
+        }
+        totalBytes += entry.size();
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes) {
+            Entry evicted = eldest.next().getValue();
+            eldest.remove();
+            totalBytes -= evicted.size();
+            evictions.increment();
+        }
+    }
+
+    // Özetle tutulan kayıt revalidateAfter süresi içinde doğrulanmışsa güncel sayılır; süre dolmuşsa içerik
+    // yeniden özetlenir ve değişmemişse kaydın doğrulama zamanı yenilenir
+    private boolean isCurrent(String resourceName, URL url, Entry entry) throws IOException {
+        if (System.nanoTime() - entry.verifiedAt() < revalidateAfterNanos) {
+            return true;
+        }
+        MessageDigest digest = sha256();
+        try (InputStream input = new DigestInputStream(url.openStream(), digest)) {
+            input.transferTo(OutputStream.nullOutputStream());
+        }
+        if (!entry.fingerprint().equals(digestFingerprint(digest))) {
+            return false;
+        }
+        synchronized (this) {
+            // Bu arada yenisi yazıldıysa ya da kayıt atıldıysa dokunulmaz; boyut aynı olduğu için totalBytes değişmez
+            if (entries.get(resourceName) == entry) {
+                entries.put(resourceName, entry.verified(System.nanoTime()));
+            }
+        }
+        return true;
+    }
+
+    // size biliniyorsa (>= 0) çıktı buffer'ı Base64 uzunluğunda açılır ve büyürken kopyalanmaz.
+    // digest verilirse içerik aynı okumada özetlenir.
+    private static String encode(URL url, long size, MessageDigest digest) throws IOException {
+        InputStream stream = url.openStream();
+        try (InputStream input = digest == null ? stream : new DigestInputStream(stream, digest)) {
+            int capacity = size < 0
+                    ? Base64Encoder.BUFFER_SIZE
+                    : (int) Math.min((size + 2) / 3 * 4, Integer.MAX_VALUE - 8);
+            ByteArrayOutputStream output = new ByteArrayOutputStream(capacity);
+            Base64Encoder.encode(input, output);
+            // Base64 sadece ASCII içerir; ISO-8859-1 ile Latin-1 String'e tek kopyayla çevrilir
+            return output.toString(StandardCharsets.ISO_8859_1);
+        }
+    }
+
+    // Son değişiklik zamanı + boyut; bu bilgi alınamıyorsa fingerprint null'dır (içerik özetlenir)
+    private static Probe probe(URL url) throws IOException {
+        if ("file".equals(url.getProtocol())) {
+            try {
+                Path path = Paths.get(url.toURI());
+                BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                return new Probe(attributes.lastModifiedTime().toMillis() + ":" + attributes.size(), attributes.size());
+            } catch (URISyntaxException e) {
+                // Dosya yoluna çevrilemeyen URL: özet ile devam
+                return new Probe(null, -1);
+            }
+        }
+        URLConnection connection = url.openConnection();
+        long lastModified = connection.getLastModified();
+        long size = connection.getContentLengthLong();
+        if (lastModified > 0) {
+            return new Probe(lastModified + ":" + size, size);
+        }
+        return new Probe(null, size);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Her JVM'de bulunması zorunlu
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String digestFingerprint(MessageDigest digest) {
+        return "sha256:" + HexFormat.of().formatHex(digest.digest());
+    }
+
+    private record Probe(String fingerprint, long size) {
+    }
+
+    // verifiedAt: kaydın kodlandığı ya da özetinin son doğrulandığı an (System.nanoTime)
+    private record Entry(String fingerprint, String base64, long verifiedAt) {
+        long size() {
+            return base64.length();
+        }
+
+        Entry verified(long now) {
+            return new Entry(fingerprint, base64, now);
+        }
+    }
+}
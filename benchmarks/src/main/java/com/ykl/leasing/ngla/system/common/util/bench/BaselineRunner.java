@@ -0,0 +1,165 @@
+package com.ykl.leasing.ngla.system.common.util.bench;
+
+import com.fasterxml.jackson.core.util.DefaultIndenter;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+
+// Benchmark'ları GC profiler ile çalıştırır ve sonuçları baseline.json ile karşılaştırır.
+// Throughput'ta ya da işlem başına ayrılan bellekte tolerans üstü kötüleşme varsa 1 ile çıkar.
+//
+// Argümanlar: [--baseline baseline.json] [--tolerance 0.15] [--include regex] [--update]
+// --update ölçülen sonuçları baseline'a yazar; ölçülmeyen benchmark'ların kayıtları korunur.
+//
+// baseline.json JMH çıktısının kısaltılmışıdır: ölçüldüğü donanım/JDK notu ve benchmark + parametre anahtarı
+// başına sadece score, error ve gc.alloc.rate.norm tutulur. Ham JMH çıktısı target/jmh-result.json'dadır.
+public final class BaselineRunner {
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+    private static final String PACKAGE_PREFIX = BaselineRunner.class.getPackageName() + ".";
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        Path baseline = Paths.get("baseline.json");
+        double tolerance = 0.15;
+        String include = PACKAGE_PREFIX + "*";
+        boolean update = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--baseline" -> baseline = Paths.get(args[++i]);
+                case "--tolerance" -> tolerance = Double.parseDouble(args[++i]);
+                case "--include" -> include = args[++i];
+                case "--update" -> update = true;
+                default -> throw new IllegalArgumentException("Bilinmeyen argüman: " + args[i]);
+            }
+        }
+
+        Path result = Paths.get("target", "jmh-result.json");
+        Files.createDirectories(result.getParent());
+        Options options = new OptionsBuilder()
+                .include(include)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(result.toString())
+                .build();
+        new Runner(options).run();
+
+        if (update || !Files.exists(baseline)) {
+            updateBaseline(baseline.toFile(), result.toFile());
+            System.out.println("Baseline yazıldı: " + baseline.toAbsolutePath());
+            return;
+        }
+        int regressions = compare(baseline.toFile(), result.toFile(), tolerance);
+        if (regressions > 0) {
+            System.out.println(regressions + " benchmark baseline'a göre kötüleşti");
+            System.exit(1);
+        }
+    }
+
+    // Ölçülen sonuçlar baseline'daki aynı anahtarlı kayıtların yerine yazılır, yeniler sona eklenir;
+    // --include ile çalıştırılmayan benchmark'lar baseline'da olduğu gibi kalır. Donanım notu son ölçümünkidir.
+    static void updateBaseline(File baselineFile, File resultFile) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        JsonNode results = mapper.readTree(resultFile);
+        ObjectNode merged = baselineFile.exists()
+                ? ((ObjectNode) mapper.readTree(baselineFile).path("results")).deepCopy()
+                : mapper.createObjectNode();
+        merged.setAll(trim(mapper, results));
+
+        ObjectNode baseline = mapper.createObjectNode();
+        baseline.put("hardware", hardware(results));
+        baseline.set("results", merged);
+        // 4 boşluk girinti, anahtar başına tek kayıt; güncellemenin diff'i sadece değişen kayıtları gösterir
+        DefaultIndenter indenter = new DefaultIndenter("    ", "\n");
+        DefaultPrettyPrinter printer = new DefaultPrettyPrinter()
+                .withObjectIndenter(indenter)
+                .withArrayIndenter(indenter);
+        mapper.writer(printer).writeValue(baselineFile, baseline);
+    }
+
+    static int compare(File baselineFile, File resultFile, double tolerance) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        JsonNode baselineRoot = mapper.readTree(baselineFile);
+        JsonNode results = mapper.readTree(resultFile);
+        JsonNode baseline = baselineRoot.path("results");
+        ObjectNode current = trim(mapper, results);
+
+        String hardware = hardware(results);
+        if (!hardware.equals(baselineRoot.path("hardware").asText())) {
+            System.out.println("Baseline farklı ortamda ölçüldü (" + baselineRoot.path("hardware").asText()
+                    + "; şimdiki: " + hardware + "), throughput karşılaştırması yanıltıcı olabilir");
+        }
+
+        int regressions = 0;
+        System.out.printf(Locale.ROOT, "%-70s %14s %14s %8s %12s %12s %8s%n",
+                "Benchmark", "ops/s (base)", "ops/s", "delta", "B/op (base)", "B/op", "delta");
+        Iterator<Map.Entry<String, JsonNode>> entries = current.fields();
+        while (entries.hasNext()) {
+            Map.Entry<String, JsonNode> entry = entries.next();
+            JsonNode before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf(Locale.ROOT, "%-70s %s%n", entry.getKey(), "(baseline'da yok)");
+                continue;
+            }
+            double baseScore = before.path("score").asDouble();
+            double score = entry.getValue().path("score").asDouble();
+            double baseAlloc = before.path(ALLOCATION_METRIC).asDouble();
+            double alloc = entry.getValue().path(ALLOCATION_METRIC).asDouble();
+            double scoreDelta = baseScore > 0 ? (score - baseScore) / baseScore : 0;
+            double allocDelta = baseAlloc > 0 ? (alloc - baseAlloc) / baseAlloc : 0;
+
+            boolean regressed = scoreDelta < -tolerance || allocDelta > tolerance;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf(Locale.ROOT, "%-70s %14.1f %14.1f %+7.1f%% %12.0f %12.0f %+7.1f%%%s%n",
+                    entry.getKey(), baseScore, score, scoreDelta * 100, baseAlloc, alloc, allocDelta * 100,
+                    regressed ? "  <-- KÖTÜLEŞME" : "");
+        }
+        return regressions;
+    }
+
+    // JMH sonuç dizisi -> "ConverterBenchmark.metot param=değer ..." anahtarı başına score, error, B/op
+    static ObjectNode trim(ObjectMapper mapper, JsonNode results) {
+        ObjectNode trimmed = mapper.createObjectNode();
+        for (JsonNode result : results) {
+            String benchmark = result.path("benchmark").asText();
+            StringBuilder key = new StringBuilder(benchmark.startsWith(PACKAGE_PREFIX)
+                    ? benchmark.substring(PACKAGE_PREFIX.length())
+                    : benchmark);
+            result.path("params").fields().forEachRemaining(param ->
+                    key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText()));
+
+            ObjectNode entry = trimmed.putObject(key.toString());
+            entry.put("score", result.path("primaryMetric").path("score").asDouble());
+            entry.put("error", result.path("primaryMetric").path("scoreError").asDouble());
+            entry.put(ALLOCATION_METRIC,
+                    result.path("secondaryMetrics").path(ALLOCATION_METRIC).path("score").asDouble());
+        }
+        return trimmed;
+    }
+
+    // Ölçümün yapıldığı ortam: çekirdek sayısı ve benchmark JVM'inin sürümü
+    private static String hardware(JsonNode results) {
+        JsonNode first = results.path(0);
+        String jdk = first.path("jdkVersion").asText(System.getProperty("java.version"));
+        String vendor = System.getProperty("java.vendor.version", System.getProperty("java.vendor"));
+        return String.format(Locale.ROOT, "%d CPU, JDK %s (%s, %s)", Runtime.getRuntime().availableProcessors(),
+                jdk, vendor, first.path("vmName").asText(System.getProperty("java.vm.name")));
+    }
+}
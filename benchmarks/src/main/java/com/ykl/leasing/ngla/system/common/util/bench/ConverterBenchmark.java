@@ -0,0 +1,87 @@
+package com.ykl.leasing.ngla.system.common.util.bench;
+
+import com.ykl.leasing.ngla.system.common.util.FormatterRules;
+import com.ykl.leasing.ngla.system.common.util.JsonConversionEngine;
+import com.ykl.leasing.ngla.system.common.util.JsonMappers;
+import com.ykl.leasing.ngla.system.common.util.JsonPreProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Tüm dönüştürücüler aynı veri üzerinde; boyut, derinlik ve tarih yoğunluğuna göre
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConverterBenchmark {
+
+    @Param({"10", "1000"})
+    public int rows;
+
+    @Param({"0", "3"})
+    public int depth;
+
+    @Param({"0.1", "0.5"})
+    public double dateDensity;
+
+    private String payload;
+    private JsonConversionEngine plannedPreProcessor;
+
+    @Setup
+    public void setUp() throws IOException {
+        payload = Payloads.contracts(rows, depth, dateDensity);
+        // Plan aynı şekildeki küçük bir örnekten öğrenilir
+        JsonConversionEngine engine = JsonPreProcessor.compile(Map.of());
+        plannedPreProcessor = engine.withPlan(engine.learnPlan(
+                JsonMappers.READER.readTree(Payloads.contracts(10, depth, dateDensity))));
+    }
+
+    @Benchmark
+    public String jsonFormatConverter() throws Throwable {
+        return (String) Converters.JSON_FORMAT_CONVERTER.invokeExact(payload);
+    }
+
+    @Benchmark
+    public String jsonDateToStringConverter() throws Throwable {
+        return (String) Converters.JSON_DATE_TO_STRING_CONVERTER.invokeExact(payload);
+    }
+
+    @Benchmark
+    public String jsonNumberToStringConverter() throws Throwable {
+        return (String) Converters.JSON_NUMBER_TO_STRING_CONVERTER.invokeExact(payload);
+    }
+
+    @Benchmark
+    public String jsonConverter() throws Throwable {
+        return (String) Converters.JSON_CONVERTER.invokeExact(payload);
+    }
+
+    @Benchmark
+    public String jsonPreProcessor() {
+        return JsonPreProcessor.enrichDatesAndNumbersWithFormattedStrings(payload, FormatterRules.EMPTY);
+    }
+
+    @Benchmark
+    public String jsonPreProcessorPlanned() throws IOException {
+        return plannedPreProcessor.convert(payload);
+    }
+
+    @Benchmark
+    public boolean jsonArrayChecker() throws Throwable {
+        return (boolean) Converters.JSON_ARRAY_CHECKER.invokeExact(payload);
+    }
+}
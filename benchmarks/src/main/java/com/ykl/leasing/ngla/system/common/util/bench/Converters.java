@@ -0,0 +1,28 @@
+package com.ykl.leasing.ngla.system.common.util.bench;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+// Kökteki dönüştürücüler default pakette olduğu için isimli paketten doğrudan çağrılamaz;
+// static final MethodHandle'lar JIT tarafından doğrudan çağrıya indirgenir.
+final class Converters {
+
+    static final MethodHandle JSON_FORMAT_CONVERTER = find("JsonFormatConverter", "convertAllToFormattedStrings", String.class);
+    static final MethodHandle JSON_DATE_TO_STRING_CONVERTER = find("JsonDateToStringConverter", "convertDatesToFormattedStrings", String.class);
+    static final MethodHandle JSON_NUMBER_TO_STRING_CONVERTER = find("JsonNumberToStringConverter", "convertAllNumbersToFormattedStrings", String.class);
+    static final MethodHandle JSON_CONVERTER = find("JsonConverter", "convertNumbersAndDates", String.class);
+    static final MethodHandle JSON_ARRAY_CHECKER = find("JsonArrayChecker", "isJsonArray", boolean.class);
+
+    private Converters() {
+    }
+
+    private static MethodHandle find(String className, String methodName, Class<?> returnType) {
+        try {
+            return MethodHandles.publicLookup().findStatic(Class.forName(className), methodName,
+                    MethodType.methodType(returnType, String.class));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(className + "." + methodName + " bulunamadı", e);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.ykl.leasing.ngla.system.common.util.bench;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+// Leasing sözleşme satırlarına benzeyen, tekrarlanabilir (sabit seed) test verisi üretir
+final class Payloads {
+
+    private static final int FIELDS_PER_OBJECT = 12;
+
+    private Payloads() {
+    }
+
+    // rows: kök dizideki satır sayısı, depth: iç içe "detail" nesnesi sayısı,
+    // dateDensity: alanların ne kadarının tarih (dizi ya da ISO metin) olduğu
+    static String contracts(int rows, int depth, double dateDensity) {
+        Random random = new Random(42);
+        StringBuilder json = new StringBuilder(rows * 400 * (depth + 1));
+        json.append('[');
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            appendObject(json, random, depth, dateDensity, i);
+        }
+        return json.append(']').toString();
+    }
+
+    // İlk kurallar gerçekten eşleşir, kalanlar eşleşmeyen gürültüdür (kural sayısının eşleştirme maliyetine etkisi için)
+    static Map<String, String> formatterRules(int count) {
+        Map<String, String> rules = new LinkedHashMap<>();
+        String[] meaningful = {
+                "*.amount0", "DECIMAL|#,##0.00|tr-TR",
+                "*.date1", "DATE|dd/MM/yyyy",
+                "*.detail.*", "DEFAULT",
+                "*.date4", "DATETIME|dd.MM.yyyy HH:mm|tr-TR"
+        };
+        for (int i = 0; i < meaningful.length && rules.size() < count; i += 2) {
+            rules.put(meaningful[i], meaningful[i + 1]);
+        }
+        for (int i = 0; rules.size() < count; i++) {
+            rules.put("report.section" + i + ".*.field" + i, "DECIMAL|#,##0.000|en-US");
+        }
+        return rules;
+    }
+
+    private static void appendObject(StringBuilder json, Random random, int depth, double dateDensity, int row) {
+        json.append("{\"contractNo\":\"LS-").append(100000 + row).append('"');
+        for (int field = 0; field < FIELDS_PER_OBJECT; field++) {
+            json.append(',');
+            if (random.nextDouble() < dateDensity) {
+                appendDate(json, random, field);
+            } else if (random.nextBoolean()) {
+                json.append("\"amount").append(field).append("\":")
+                        .append(String.format(Locale.ROOT, "%.2f", random.nextDouble() * 1_000_000));
+            } else if (random.nextBoolean()) {
+                json.append("\"count").append(field).append("\":").append(random.nextInt(500));
+            } else {
+                json.append("\"note").append(field).append("\":\"Kira bedeli ").append(random.nextInt(99)).append(". taksit\"");
+            }
+        }
+        if (depth > 0) {
+            json.append(",\"detail\":");
+            appendObject(json, random, depth - 1, dateDensity, row);
+        }
+        json.append('}');
+    }
+
+    private static void appendDate(StringBuilder json, Random random, int field) {
+        int year = 2020 + random.nextInt(8);
+        int month = 1 + random.nextInt(12);
+        int day = 1 + random.nextInt(28);
+        json.append("\"date").append(field).append("\":");
+        switch (random.nextInt(3)) {
+            case 0:
+                json.append('[').append(year).append(',').append(month).append(',').append(day).append(']');
+                break;
+            case 1:
+                json.append('[').append(year).append(',').append(month).append(',').append(day).append(',')
+                        .append(random.nextInt(24)).append(',').append(random.nextInt(60)).append(']');
+                break;
+            default:
+                json.append(String.format(Locale.ROOT, "\"%04d-%02d-%02d\"", year, month, day));
+                break;
+        }
+    }
+}
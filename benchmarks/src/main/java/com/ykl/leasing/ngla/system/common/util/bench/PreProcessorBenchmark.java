@@ -0,0 +1,68 @@
+package com.ykl.leasing.ngla.system.common.util.bench;
+
+import com.ykl.leasing.ngla.system.common.util.JsonConversionEngine;
+import com.ykl.leasing.ngla.system.common.util.JsonPreProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// JsonPreProcessor'ın formatter kural sayısına göre maliyeti: çağrı başına Map, önceden derlenmiş motor ve streaming
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PreProcessorBenchmark {
+
+    @Param({"0", "8", "32"})
+    public int ruleCount;
+
+    @Param({"1000"})
+    public int rows;
+
+    private String payload;
+    private byte[] payloadBytes;
+    private Map<String, String> customFormatters;
+    private JsonConversionEngine compiled;
+
+    @Setup
+    public void setUp() {
+        payload = Payloads.contracts(rows, 1, 0.3);
+        payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        customFormatters = Payloads.formatterRules(ruleCount);
+        compiled = JsonPreProcessor.compile(customFormatters);
+    }
+
+    @Benchmark
+    public String perCallMap() {
+        return JsonPreProcessor.enrichDatesAndNumbersWithFormattedStrings(payload, customFormatters);
+    }
+
+    @Benchmark
+    public String compiledEngine() throws IOException {
+        return compiled.convert(payload);
+    }
+
+    @Benchmark
+    public int streaming() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(payloadBytes.length * 2);
+        JsonPreProcessor.enrichDatesAndNumbersWithFormattedStrings(new ByteArrayInputStream(payloadBytes), output, customFormatters);
+        return output.size();
+    }
+}
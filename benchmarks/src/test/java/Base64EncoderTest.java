@@ -0,0 +1,122 @@
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.ykl.leasing.ngla.system.common.util.JsonMappers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Akışla kodlanan/açılan veri Base64.getEncoder().encodeToString ile aynı olmalıdır; boyutlar buffer sınırlarının
+// ve 3 baytlık grupların etrafında denenir. JSON alanına gömülen değer de aynı metindir.
+// Base64Encoder default package'da olduğu için test de default package'dadır.
+class Base64EncoderTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void encodeAndDecodeMatchJdk() throws Exception {
+        Random random = new Random(14);
+        int buffer = Base64Encoder.BUFFER_SIZE;
+        int[] sizes = {0, 1, 2, 3, 4, 5, buffer - 1, buffer, buffer + 1, buffer + 2, 3 * buffer + 2, 200_003};
+        for (int size : sizes) {
+            byte[] data = new byte[size];
+            random.nextBytes(data);
+            String expected = Base64.getEncoder().encodeToString(data);
+
+            // Okuma az az döndüğünde de aynı sonuç çıkar
+            TrackingOutputStream encoded = new TrackingOutputStream();
+            assertEquals(size, Base64Encoder.encode(trickle(data, random), encoded));
+            assertEquals(expected, encoded.toString(StandardCharsets.US_ASCII));
+            assertFalse(encoded.closed);
+
+            TrackingOutputStream decoded = new TrackingOutputStream();
+            assertEquals(size, Base64Encoder.decode(
+                    trickle(expected.getBytes(StandardCharsets.US_ASCII), random), decoded));
+            assertArrayEquals(data, decoded.toByteArray());
+            assertFalse(decoded.closed);
+
+            Path file = directory.resolve("Template.docx");
+            Files.write(file, data);
+            ByteArrayOutputStream fromFile = new ByteArrayOutputStream();
+            assertEquals(size, Base64Encoder.encode(file, fromFile));
+            assertEquals(expected, fromFile.toString(StandardCharsets.US_ASCII));
+        }
+    }
+
+    @Test
+    void embedsInJsonField() throws Exception {
+        byte[] data = new byte[3 * Base64Encoder.BUFFER_SIZE + 1];
+        new Random(41).nextBytes(data);
+
+        StringWriter json = new StringWriter();
+        try (JsonGenerator generator = JsonMappers.MAPPER.getFactory().createGenerator(json)) {
+            generator.writeStartObject();
+            generator.writeStringField("ad", "Template.docx");
+            assertEquals(data.length, Base64Encoder.writeField(generator, "icerik", new ByteArrayInputStream(data)));
+            generator.writeEndObject();
+        }
+        JsonNode tree = JsonMappers.READER.readTree(json.toString());
+        assertEquals("Template.docx", tree.get("ad").textValue());
+        assertEquals(Base64.getEncoder().encodeToString(data), tree.get("icerik").textValue());
+
+        // Parser alan adında ya da değerde olabilir
+        for (boolean onValue : new boolean[]{false, true}) {
+            try (JsonParser parser = JsonMappers.MAPPER.getFactory().createParser(json.toString())) {
+                // {, "ad", "Template.docx", "icerik"
+                for (int i = 0; i < 4; i++) {
+                    parser.nextToken();
+                }
+                assertEquals(JsonToken.FIELD_NAME, parser.currentToken());
+                if (onValue) {
+                    parser.nextToken();
+                }
+                ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+                assertEquals(data.length, Base64Encoder.readField(parser, decoded));
+                assertArrayEquals(data, decoded.toByteArray());
+            }
+        }
+    }
+
+    @Test
+    void missingTemplate() {
+        assertThrows(FileNotFoundException.class, () -> Base64Encoder.openTemplate("olmayan.docx"));
+    }
+
+    // Her read çağrısında en fazla birkaç yüz bayt döner
+    private static InputStream trickle(byte[] data, Random random) {
+        return new FilterInputStream(new ByteArrayInputStream(data)) {
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                return super.read(buffer, offset, Math.min(length, 1 + random.nextInt(300)));
+            }
+        };
+    }
+
+    private static final class TrackingOutputStream extends ByteArrayOutputStream {
+        private boolean closed;
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeType;
+import com.ykl.leasing.ngla.system.common.util.JsonMappers;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// inspect ve isJsonArray, belgeyi ağaca okuyan eski yolla karşılaştırılır: kök tipi, kökteki eleman/alan sayısı ve
+// derinlik ağaçtan hesaplananla aynı olmalı; belge yarıda kesildiğinde geçersiz sayılmalıdır.
+// JsonArrayChecker default package'da olduğu için test de default package'dadır.
+class JsonArrayCheckerTest {
+
+    private static final String[] KEYS = {"a", "tarih", "rows", "x"};
+    private static final String[] SCALARS = {"1", "-2.5", "\"s\"", "\"[\"", "true", "false", "null"};
+
+    @Test
+    void knownStructures() {
+        assertEquals(new JsonArrayChecker.Structure(JsonNodeType.ARRAY, 2, 2, true),
+                JsonArrayChecker.inspect("[{\"name\":\"John\"}, {\"name\":\"Jane\"}]"));
+        assertEquals(new JsonArrayChecker.Structure(JsonNodeType.OBJECT, 2, 3, true),
+                JsonArrayChecker.inspect("{\"a\":[[1]],\"b\":{}}"));
+        assertEquals(new JsonArrayChecker.Structure(JsonNodeType.STRING, 0, 0, true), JsonArrayChecker.inspect("\"x\""));
+        assertEquals(new JsonArrayChecker.Structure(JsonNodeType.ARRAY, 2, 2, false), JsonArrayChecker.inspect("[1,[2"));
+        assertEquals(new JsonArrayChecker.Structure(JsonNodeType.STRING, 0, 0, false), JsonArrayChecker.inspect("\"x"));
+        assertEquals(JsonArrayChecker.Structure.INVALID, JsonArrayChecker.inspect(""));
+        assertEquals(JsonArrayChecker.Structure.INVALID, JsonArrayChecker.inspect("This is not JSON"));
+
+        assertTrue(JsonArrayChecker.isJsonArray("[1,2]"));
+        assertFalse(JsonArrayChecker.isJsonArray("{\"a\":1}"));
+        assertFalse(JsonArrayChecker.isJsonArray("[1,2"));
+        // Doğrulama kapalıyken sadece ilk token'a bakılır
+        assertTrue(JsonArrayChecker.isJsonArray("[1,2", false));
+        assertTrue(JsonArrayChecker.isJsonArray("[1,}".getBytes(StandardCharsets.UTF_8), false));
+        assertFalse(JsonArrayChecker.isJsonArray("[1,}".getBytes(StandardCharsets.UTF_8), true));
+    }
+
+    @Test
+    void matchesTree() {
+        Random random = new Random(11);
+        for (int i = 0; i < 20_000; i++) {
+            String json = value(random, 0);
+            JsonArrayChecker.Structure structure = expected(json);
+            assertTrue(structure.valid(), json);
+            assertEquals(structure, JsonArrayChecker.inspect(json), json);
+            assertEquals(structure, JsonArrayChecker.inspect(
+                    new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8))), json);
+            assertEquals(structure.isArray(), JsonArrayChecker.isJsonArray(json), json);
+
+            // Yarıda kesilen belge: ağaç okunamıyorsa inspect de geçersiz demeli
+            String prefix = json.substring(0, random.nextInt(json.length()));
+            JsonArrayChecker.Structure truncated = JsonArrayChecker.inspect(prefix);
+            assertEquals(expected(prefix).valid(), truncated.valid(), prefix);
+            assertEquals(expected(prefix).isArray(), JsonArrayChecker.isJsonArray(prefix), prefix);
+            if (truncated.valid()) {
+                assertEquals(expected(prefix), truncated, prefix);
+            }
+        }
+    }
+
+    @Test
+    void streamIsLeftOpen() {
+        boolean[] closed = {false};
+        ByteArrayInputStream input = new ByteArrayInputStream("[1,2]".getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        };
+        assertTrue(JsonArrayChecker.inspect(input).isArray());
+        assertFalse(closed[0]);
+    }
+
+    // Eski yol: belge ağaca okunur, yapı ağaçtan hesaplanır
+    private static JsonArrayChecker.Structure expected(String json) {
+        JsonNode tree;
+        try {
+            tree = JsonMappers.READER.readTree(json);
+        } catch (IOException e) {
+            return JsonArrayChecker.Structure.INVALID;
+        }
+        if (tree == null || tree.isMissingNode()) {
+            return JsonArrayChecker.Structure.INVALID;
+        }
+        return new JsonArrayChecker.Structure(tree.getNodeType(), tree.size(), depth(tree), true);
+    }
+
+    private static int depth(JsonNode node) {
+        int depth = 0;
+        for (JsonNode child : node) {
+            depth = Math.max(depth, depth(child));
+        }
+        return node.isContainerNode() ? depth + 1 : 0;
+    }
+
+    private static String value(Random random, int depth) {
+        int kind = random.nextInt(depth > 4 ? 2 : 4);
+        if (kind < 2) {
+            return SCALARS[random.nextInt(SCALARS.length)];
+        }
+        int size = random.nextInt(5);
+        StringBuilder json = new StringBuilder(kind == 2 ? "[" : "{");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                json.append(random.nextBoolean() ? "," : " , ");
+            }
+            if (kind == 3) {
+                // Aynı adlı alanlar ağaçta tek alana düşer; sayı karşılaştırması için adlar tekil tutulur
+                json.append('"').append(KEYS[i % KEYS.length]).append(i).append("\":");
+            }
+            json.append(value(random, depth + 1));
+        }
+        return json.append(kind == 2 ? ']' : '}').toString();
+    }
+}
@@ -0,0 +1,98 @@
+import com.fasterxml.jackson.databind.JsonNode;
+import com.ykl.leasing.ngla.system.common.util.JsonMappers;
+import com.ykl.leasing.ngla.system.common.util.JsonPreProcessor;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Hazır dönüştürücülerin çıktısı, ilk sürümün (motor öncesi kod) aynı girdilerdeki çıktısıyla karşılaştırılır.
+// preset-baseline.jsonl'deki "baseline" ilk sürümün kaydedilmiş çıktısıdır; bilinçli farklarda "expected" yeni
+// çıktıyı, "change" nedenini verir. Default package'daki sınıflar ancak default package'dan çağrılabildiği için
+// test de default package'dadır.
+class PresetBaselineTest {
+
+    // Bilinen farklar: ondalıklar HALF_EVEN yerine HALF_UP yuvarlanır ve sıfıra yuvarlanan negatifler "-0,00"
+    // değil "0,00" yazılır; JsonConverter kök değeri ve dizi içindeki tarih dizilerini de dönüştürür
+    private static final Set<String> CHANGES = Set.of(
+            "HALF_UP rounding, no -0,00",
+            "root values and date arrays inside arrays are converted");
+
+    private static final Map<String, String> FORMATTERS = new LinkedHashMap<>();
+
+    static {
+        FORMATTERS.put("*.tarih*", "DATE|dd/MM/yyyy");
+        FORMATTERS.put("*.tutar*", "DECIMAL|#,##0.000");
+        FORMATTERS.put("list", "DEFAULT");
+    }
+
+    @Test
+    void matchesRecordedBaseline() throws Exception {
+        Map<String, Integer> changes = new TreeMap<>();
+        int records = 0;
+        try (BufferedReader lines = new BufferedReader(new InputStreamReader(
+                PresetBaselineTest.class.getResourceAsStream("/preset-baseline.jsonl"), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = lines.readLine()) != null) {
+                JsonNode record = JsonMappers.READER.readTree(line);
+                String preset = record.get("preset").textValue();
+                String input = record.get("input").textValue();
+                String expected = record.get("baseline").textValue();
+                if (record.has("change")) {
+                    String change = record.get("change").textValue();
+                    assertTrue(CHANGES.contains(change), change);
+                    changes.merge(preset + ": " + change, 1, Integer::sum);
+                    expected = record.get("expected").textValue();
+                }
+                assertEquals(expected, convert(preset, input), preset + " " + input);
+                records++;
+            }
+        }
+        assertEquals(5 * 100, records);
+        // Kaydedilmiş farkların dağılımı; yeni bir fark kaydedilmeden bu test geçmez
+        assertEquals(Map.of(
+                "JsonConverter: HALF_UP rounding, no -0,00", 4,
+                "JsonConverter: root values and date arrays inside arrays are converted", 32,
+                "JsonNumberToStringConverter: HALF_UP rounding, no -0,00", 5,
+                "JsonPreProcessor: HALF_UP rounding, no -0,00", 2), changes);
+    }
+
+    @Test
+    void knownChanges() throws Exception {
+        // Kök dizi ve dizi içindeki tarih dizileri (ilk sürüm elemanları tek tek metne çeviriyordu)
+        assertEquals("\"16.04.2024\"", JsonConverter.convertNumbersAndDates("[2024,4,16]"));
+        assertEquals("[\"02.01.2024\",\"02.01.2024 10:30\",\"[2024,2,30]\"]",
+                JsonConverter.convertNumbersAndDates("[[2024,1,2],[2024,1,2,10,30],[2024,2,30]]"));
+        assertEquals("\"52280\"", JsonConverter.convertNumbersAndDates("52280"));
+        // HALF_UP ve "-0,00"
+        assertEquals("[\"1,13\",\"2,68\",\"0,00\",\"-0,01\",\"0,13\",\"1.234.567,89\"]",
+                JsonNumberToStringConverter.convertAllNumbersToFormattedStrings("[1.125,2.675,-0.004,-0.005,0.125,1234567.885]"));
+        assertEquals("{\"t\":\"0.00 TL\",\"u\":\"2.35 TL\"}",
+                JsonConverter.convertNumbersAndDates("{\"t\":-0.001,\"u\":2.345}"));
+    }
+
+    private static String convert(String preset, String input) throws Exception {
+        switch (preset) {
+            case "JsonConverter":
+                return JsonConverter.convertNumbersAndDates(input);
+            case "JsonFormatConverter":
+                return JsonFormatConverter.convertAllToFormattedStrings(input);
+            case "JsonDateToStringConverter":
+                return JsonDateToStringConverter.convertDatesToFormattedStrings(input);
+            case "JsonNumberToStringConverter":
+                return JsonNumberToStringConverter.convertAllNumbersToFormattedStrings(input);
+            case "JsonPreProcessor":
+                return JsonPreProcessor.enrichDatesAndNumbersWithFormattedStrings(input, FORMATTERS);
+            default:
+                throw new IllegalArgumentException("Bilinmeyen dönüştürücü: " + preset);
+        }
+    }
+}
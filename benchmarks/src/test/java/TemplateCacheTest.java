@@ -0,0 +1,179 @@
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.ykl.leasing.ngla.system.common.util.JsonMappers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.net.URLConnection;
+import java.net.URLStreamHandler;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Önbellek isabet/ıska sayaçları, parmak izi değişince yeniden kodlama, boyut sınırında en uzun süredir
+// kullanılmayanın atılması ve son değişiklik zamanı olmayan kaynaklarda SHA-256 ile doğrulama denenir.
+// TemplateCache default package'da olduğu için test de default package'dadır.
+class TemplateCacheTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void hitsAndMisses() throws Exception {
+        write("a.docx", "birinci şablon");
+        write("b.docx", "ikinci");
+        TemplateCache cache = new TemplateCache(fileLoader(), 1 << 20);
+
+        cache.preload("a.docx");
+        assertEquals(base64("birinci şablon"), cache.get("a.docx"));
+        assertEquals(base64("ikinci"), cache.get("b.docx"));
+        assertEquals(base64("ikinci"), cache.get("b.docx"));
+        assertEquals(new TemplateCache.Stats(2, 2, 0, 2,
+                base64("birinci şablon").length() + base64("ikinci").length()), cache.stats());
+
+        cache.invalidate("a.docx");
+        assertEquals(base64("birinci şablon"), cache.get("a.docx"));
+        assertEquals(3, cache.stats().misses());
+
+        StringWriter json = new StringWriter();
+        try (JsonGenerator generator = JsonMappers.MAPPER.getFactory().createGenerator(json)) {
+            generator.writeStartObject();
+            cache.writeField(generator, "icerik", "b.docx");
+            generator.writeEndObject();
+        }
+        assertEquals("{\"icerik\":\"" + base64("ikinci") + "\"}", json.toString());
+
+        assertThrows(FileNotFoundException.class, () -> cache.get("olmayan.docx"));
+    }
+
+    @Test
+    void changedFileIsEncodedAgain() throws Exception {
+        Path file = write("a.docx", "eski");
+        TemplateCache cache = new TemplateCache(fileLoader(), 1 << 20);
+        assertEquals(base64("eski"), cache.get("a.docx"));
+
+        // Aynı boyut, farklı değişiklik zamanı
+        Files.writeString(file, "yeni");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 10_000));
+        assertEquals(base64("yeni"), cache.get("a.docx"));
+        assertEquals(base64("yeni"), cache.get("a.docx"));
+        assertEquals(new TemplateCache.Stats(1, 2, 0, 1, base64("yeni").length()), cache.stats());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsed() throws Exception {
+        // Her şablon 12 bayt Base64; sınır ikisine yeter
+        write("a.docx", "aaaaaaaa");
+        write("b.docx", "bbbbbbbb");
+        write("c.docx", "cccccccc");
+        write("buyuk.docx", "x".repeat(100));
+        TemplateCache cache = new TemplateCache(fileLoader(), 24);
+
+        cache.get("a.docx");
+        cache.get("b.docx");
+        cache.get("a.docx");
+        cache.get("c.docx");
+        assertEquals(new TemplateCache.Stats(1, 3, 1, 2, 24), cache.stats());
+
+        cache.get("a.docx");
+        cache.get("c.docx");
+        cache.get("b.docx");
+        assertEquals(new TemplateCache.Stats(3, 4, 2, 2, 24), cache.stats());
+
+        // Sınırdan büyük şablon önbelleğe alınmaz, diğerlerini de attırmaz
+        cache.get("buyuk.docx");
+        cache.get("buyuk.docx");
+        assertEquals(new TemplateCache.Stats(3, 6, 2, 2, 24), cache.stats());
+    }
+
+    @Test
+    void revalidatesByDigest() throws Exception {
+        MemoryLoader loader = new MemoryLoader();
+        loader.contents.put("a.docx", "ilk".getBytes(StandardCharsets.UTF_8));
+
+        // Süre sıfır: her get özet için okur, içerik aynıysa yeniden kodlamaz
+        TemplateCache always = new TemplateCache(loader, 1 << 20, Duration.ZERO);
+        assertEquals(base64("ilk"), always.get("a.docx"));
+        assertEquals(base64("ilk"), always.get("a.docx"));
+        assertEquals(2, loader.opens.get());
+        assertEquals(new TemplateCache.Stats(1, 1, 0, 1, base64("ilk").length()), always.stats());
+
+        loader.contents.put("a.docx", "son".getBytes(StandardCharsets.UTF_8));
+        assertEquals(base64("son"), always.get("a.docx"));
+        assertEquals(2, always.stats().misses());
+
+        // Süre dolmadan kaynak okunmaz; değişiklik invalidate ile görülür
+        TemplateCache lazy = new TemplateCache(loader, 1 << 20, Duration.ofHours(1));
+        assertEquals(base64("son"), lazy.get("a.docx"));
+        int opens = loader.opens.get();
+        loader.contents.put("a.docx", "yeni".getBytes(StandardCharsets.UTF_8));
+        assertEquals(base64("son"), lazy.get("a.docx"));
+        assertEquals(opens, loader.opens.get());
+        lazy.invalidate("a.docx");
+        assertEquals(base64("yeni"), lazy.get("a.docx"));
+    }
+
+    private Path write(String name, String content) throws Exception {
+        return Files.writeString(directory.resolve(name), content);
+    }
+
+    private ClassLoader fileLoader() throws Exception {
+        return new URLClassLoader(new URL[]{directory.toUri().toURL()}, null);
+    }
+
+    private static String base64(String content) {
+        return Base64.getEncoder().encodeToString(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Son değişiklik zamanı bildirmeyen kaynaklar (parmak izi SHA-256 olur); açılan akışlar sayılır
+    private static final class MemoryLoader extends ClassLoader {
+        private final Map<String, byte[]> contents = new ConcurrentHashMap<>();
+        private final AtomicInteger opens = new AtomicInteger();
+
+        private MemoryLoader() {
+            super(null);
+        }
+
+        @Override
+        protected URL findResource(String name) {
+            if (!contents.containsKey(name)) {
+                return null;
+            }
+            try {
+                return new URL(null, "mem:" + name, new URLStreamHandler() {
+                    @Override
+                    protected URLConnection openConnection(URL url) {
+                        return new URLConnection(url) {
+                            @Override
+                            public void connect() {
+                            }
+
+                            @Override
+                            public InputStream getInputStream() {
+                                opens.incrementAndGet();
+                                return new ByteArrayInputStream(contents.get(name));
+                            }
+                        };
+                    }
+                });
+            } catch (MalformedURLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
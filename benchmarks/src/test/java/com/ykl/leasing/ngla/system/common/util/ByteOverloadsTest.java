@@ -0,0 +1,79 @@
+package com.ykl.leasing.ngla.system.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// byte[], ByteBuffer (heap, direct, konumu sıfır olmayan) ve stream overload'ları String overload'uyla aynı
+// UTF-8 çıktıyı üretmelidir
+class ByteOverloadsTest {
+
+    private static final JsonConversionEngine ENGINE = JsonConversionEngine.builder()
+            .rule(ConversionRules.dateArrays(true))
+            .rule(ConversionRules.dateStrings())
+            .rule(ConversionRules.decimals(FixedDecimalFormat.TR::format))
+            .rule(ConversionRules.integersAsText())
+            .build();
+
+    @Test
+    void overloadsMatchString() throws Exception {
+        Random random = new Random(7);
+        for (int i = 0; i < 2000; i++) {
+            String json = RandomDocuments.document(random);
+            assertOverloadsMatch(json);
+        }
+        assertOverloadsMatch("{\"ad\":\"Çağrı Şükrü\",\"tutar\":1234.5}");
+    }
+
+    @Test
+    void supplementaryCharactersAreEscapedInBytes() throws Exception {
+        // Jackson 2.16'nın UTF-8 generator'ı BMP dışı karakterleri surrogate kaçışlarıyla yazar; okunan metin aynıdır
+        String json = "{\"emoji\":\"😀\",\"tutar\":1.5}";
+        byte[] bytes = ENGINE.convert(json.getBytes(StandardCharsets.UTF_8));
+        assertEquals("{\"emoji\":\"\\uD83D\\uDE00\",\"tutar\":\"1,50\"}", new String(bytes, StandardCharsets.UTF_8));
+        assertEquals(JsonMappers.READER.readTree(ENGINE.convert(json)), JsonMappers.READER.readTree(bytes));
+    }
+
+    @Test
+    void byteBufferIsConsumed() throws Exception {
+        byte[] bytes = "xx[2024,1,2]yy".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer heap = ByteBuffer.wrap(bytes, 2, 10);
+        assertEquals("\"02.01.2024\"", utf8(ENGINE.convert(heap)));
+        assertEquals(heap.limit(), heap.position());
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length).put(bytes);
+        direct.position(2).limit(12);
+        assertEquals("\"02.01.2024\"", utf8(ENGINE.convert(direct)));
+        assertEquals(direct.limit(), direct.position());
+    }
+
+    private static void assertOverloadsMatch(String json) throws Exception {
+        String expected = ENGINE.convert(json);
+        byte[] input = json.getBytes(StandardCharsets.UTF_8);
+        assertEquals(expected, new String(ENGINE.convert(input), StandardCharsets.UTF_8), json);
+        assertEquals(expected, utf8(ENGINE.convert(ByteBuffer.wrap(input))), json);
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(input.length).put(input).flip();
+        assertEquals(expected, utf8(ENGINE.convert(direct)), json);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ENGINE.convert(new ByteArrayInputStream(input), output);
+        assertEquals(expected, output.toString(StandardCharsets.UTF_8), json);
+
+        StringWriter writer = new StringWriter();
+        ENGINE.convert(new StringReader(json), writer);
+        assertEquals(expected, writer.toString(), json);
+    }
+
+    private static String utf8(ByteBuffer buffer) {
+        return StandardCharsets.UTF_8.decode(buffer).toString();
+    }
+}
@@ -0,0 +1,108 @@
+package com.ykl.leasing.ngla.system.common.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// JsonPreProcessor'un tek formatter kuralı isabetleri formatter tipine göre (Rule.hitNames) bildirir; paralel
+// parçalarda ve plan kullanıldığında da sayılar aynı kalır. Uzunluklar girdi tipine göre bayt ya da karakterdir.
+class ConversionListenerTest {
+
+    private static final String JSON = "{\"tarih\":\"2024-01-02\",\"zaman\":\"2024-01-02T10:30:15\",\"tutar\":12.5,"
+            + "\"diger\":\"3.25\",\"sayi\":1.5,\"ad\":\"ğüş\"}";
+
+    @Test
+    void formatterHitsByType() throws Exception {
+        Recorder events = new Recorder();
+        JsonConversionEngine engine = JsonPreProcessor.engineBuilder(rules()).listener(events).build();
+
+        engine.convert(JSON);
+        Map<String, Long> hits = events.get(0).ruleHits();
+        assertEquals(Map.of("FORMATTERS_DATE", 1L, "FORMATTERS_DATETIME", 1L, "FORMATTERS_DECIMAL", 1L,
+                "FORMATTERS_DEFAULT", 1L, "FORMATTERS_UNMATCHED", 1L), hits);
+
+        // Plan kuralı adıyla ("FORMATTERS") öğrenilir, isabetler yine tipe göre sayılır
+        JsonConversionEngine planned = engine.withPlan(engine.learnPlan(JsonMappers.READER.readTree(JSON)));
+        planned.convert(JSON);
+        assertEquals(hits, events.get(1).ruleHits());
+        assertEquals(0, events.get(1).planFallbacks());
+    }
+
+    @Test
+    void parallelChunksMergeHits() throws Exception {
+        Recorder events = new Recorder();
+        JsonConversionEngine engine = JsonPreProcessor.engineBuilder(rules()).listener(events).parallel(100).build();
+        StringBuilder array = new StringBuilder("[");
+        for (int i = 0; i < 1000; i++) {
+            array.append(i > 0 ? "," : "").append(JSON);
+        }
+        engine.apply(JsonMappers.READER.readTree(array.append(']').toString()));
+        assertEquals(1000L, events.get(0).ruleHits().get("FORMATTERS_DATE"));
+        assertEquals(1000L, events.get(0).ruleHits().get("FORMATTERS_UNMATCHED"));
+        assertEquals(-1, events.get(0).inputLength());
+    }
+
+    @Test
+    void lengthsAreBytesOrCharacters() throws Exception {
+        Recorder events = new Recorder();
+        JsonConversionEngine engine = JsonPreProcessor.engineBuilder(FormatterRules.EMPTY).listener(events).build();
+
+        String text = engine.convert(JSON);
+        assertEquals(JSON.length(), events.get(0).inputLength());
+        assertEquals(text.length(), events.get(0).outputLength());
+
+        byte[] bytes = engine.convert(JSON.getBytes(StandardCharsets.UTF_8));
+        assertEquals(JSON.getBytes(StandardCharsets.UTF_8).length, events.get(1).inputLength());
+        assertEquals(bytes.length, events.get(1).outputLength());
+    }
+
+    @Test
+    void hitsWithoutNameCountUnderRuleName() throws Exception {
+        Recorder events = new Recorder();
+        JsonConversionEngine.Rule silent = new JsonConversionEngine.Rule() {
+            @Override
+            public JsonNode apply(JsonNode value, String path) {
+                return value.isTextual() ? value : null;
+            }
+
+            @Override
+            public String name() {
+                return "SILENT";
+            }
+
+            @Override
+            public List<String> hitNames() {
+                return List.of("SILENT_A");
+            }
+        };
+        JsonConversionEngine.builder().rule(silent).listener(events).build().convert("[\"a\",1]");
+        assertEquals(Map.of("SILENT_A", 0L, "SILENT", 1L), events.get(0).ruleHits());
+    }
+
+    private static final class Recorder implements ConversionListener {
+        private final List<Event> events = new ArrayList<>();
+
+        @Override
+        public void onConversion(Event event) {
+            events.add(event);
+        }
+
+        private Event get(int index) {
+            return events.get(index);
+        }
+    }
+
+    private static FormatterRules rules() {
+        return FormatterRules.compile(Map.of(
+                "*tarih", "DATE|dd/MM/yyyy",
+                "*zaman", "DATETIME|dd/MM/yyyy HH:mm",
+                "*tutar", "DECIMAL|#,##0.000",
+                "*diger", "DEFAULT"));
+    }
+}
@@ -0,0 +1,142 @@
+package com.ykl.leasing.ngla.system.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Plan, aynı şekildeki belgelerde plansız motorla aynı çıktıyı üretmelidir. Şekil farklıysa (tip ya da kural
+// tutmazsa) tüm kurallara dönülür ve çıktı yine aynıdır; sadece kuralın sonuç vermediği durum fallback sayılır.
+class ConversionPlanTest {
+
+    private static final String[] NAMES = {"Ahmet", "Ayşe", "12.50", "x"};
+
+    @Test
+    void learnedPlanMatchesUnplanned() throws Exception {
+        Recorder events = new Recorder();
+        JsonConversionEngine engine = engine(events);
+        Random random = new Random(17);
+        ConversionPlan plan = engine.learnPlan(
+                JsonMappers.READER.readTree(contract(random)), JsonMappers.READER.readTree(contract(random)));
+        JsonConversionEngine planned = engine.withPlan(plan);
+        // Kaydedilen yollardan builder ile kurulan plan da aynı sonucu verir
+        JsonConversionEngine declared = engine.withPlan(ConversionPlan.builder().paths(plan.paths()).build());
+
+        for (int i = 0; i < 500; i++) {
+            String json = contract(random);
+            String expected = engine.convert(json);
+            assertEquals(expected, planned.convert(json), json);
+            assertEquals(expected, declared.convert(json), json);
+
+            // Streaming mod da planı kullanır
+            ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+            planned.convert(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), streamed);
+            assertEquals(expected, streamed.toString(StandardCharsets.UTF_8), json);
+        }
+        for (ConversionListener.Event event : events.events) {
+            assertEquals(0, event.planFallbacks());
+        }
+    }
+
+    @Test
+    void shapeChangeFallsBack() throws Exception {
+        Recorder events = new Recorder();
+        JsonConversionEngine engine = engine(events);
+        ConversionPlan plan = engine.learnPlan(JsonMappers.READER.readTree(
+                "{\"tarih\":[2024,1,2],\"tutar\":12.5,\"adet\":3,\"satirlar\":[{\"tarih\":\"2024-01-02\"}]}"));
+        assertEquals(Map.of("", "NONE", "tarih", "DATE_ARRAY", "tutar", "DECIMAL", "adet", "INTEGER",
+                "satirlar", "NONE", "satirlar.*", "NONE", "satirlar.*.tarih", "DATE_STRING"), plan.paths());
+        JsonConversionEngine planned = engine.withPlan(plan);
+
+        // Tip farklı: plan kullanılmaz; aynı tip ama kural sonuç vermiyor: fallback
+        String[] changed = {
+                "{\"tarih\":\"2024-01-02\",\"tutar\":12,\"adet\":3.5,\"satirlar\":[{\"tarih\":[2024,1,2]}]}",
+                "{\"tarih\":[2024,1],\"tutar\":1.5,\"adet\":3,\"satirlar\":[{\"tarih\":\"hello\"}]}",
+                "{\"tarih\":null,\"yeni\":1.25,\"satirlar\":{\"tarih\":\"2024-01-02\"}}"
+        };
+        long[] fallbacks = {0, 2, 0};
+        for (int i = 0; i < changed.length; i++) {
+            assertEquals(engine.convert(changed[i]), planned.convert(changed[i]), changed[i]);
+            assertEquals(fallbacks[i], events.last().planFallbacks(), changed[i]);
+        }
+    }
+
+    @Test
+    void planTrustsSamples() throws Exception {
+        JsonConversionEngine engine = engine(null);
+        // Örnekte tarih olmayan metin alanına sonraki belgede gelen tarih dönüştürülmez (NONE)
+        JsonConversionEngine learned = engine.withPlan(engine.learnPlan(JsonMappers.READER.readTree("{\"not\":\"x\"}")));
+        assertEquals("{\"not\":\"2024-01-02\"}", learned.convert("{\"not\":\"2024-01-02\"}"));
+        assertEquals("{\"not\":\"02.01.2024\"}", engine.convert("{\"not\":\"2024-01-02\"}"));
+
+        // Örneklerde farklı sonuç veren yol plandan çıkarılır, o yolda tüm kurallar denenir
+        ConversionPlan unstable = engine.learnPlan(JsonMappers.READER.readTree("{\"not\":\"x\"}"),
+                JsonMappers.READER.readTree("{\"not\":\"2024-01-02\"}"));
+        assertFalse(unstable.paths().containsKey("not"));
+        assertEquals("{\"not\":\"02.01.2024\"}", engine.withPlan(unstable).convert("{\"not\":\"2024-01-02\"}"));
+
+        // Tanımlanmış planda tip kontrolü yoktur; NONE yolunda kural uygulanmaz
+        JsonConversionEngine declared = engine.withPlan(ConversionPlan.builder().path("tarih", ConversionPlan.NONE).build());
+        assertEquals("{\"tarih\":[\"2024\",\"1\",\"2\"],\"tutar\":\"1,50\"}",
+                declared.convert("{\"tarih\":[2024,1,2],\"tutar\":1.5}"));
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> engine.withPlan(ConversionPlan.builder().path("tarih", "OLMAYAN").build()));
+        assertEquals("Planda motorda olmayan kural var: OLMAYAN", error.getMessage());
+    }
+
+    private static JsonConversionEngine engine(ConversionListener listener) {
+        JsonConversionEngine.Builder builder = JsonConversionEngine.builder()
+                .rule(ConversionRules.dateArrays(true))
+                .rule(ConversionRules.dateStrings())
+                .rule(ConversionRules.decimals(FixedDecimalFormat.TR::format))
+                .rule(ConversionRules.integersAsText());
+        return (listener != null ? builder.listener(listener) : builder).build();
+    }
+
+    // Sabit bir DTO şeklinde, değerleri rastgele sözleşme belgesi
+    private static String contract(Random random) {
+        StringBuilder json = new StringBuilder("{\"id\":").append(random.nextInt(100_000))
+                .append(",\"tarih\":[").append(2000 + random.nextInt(30)).append(',').append(1 + random.nextInt(12))
+                .append(',').append(1 + random.nextInt(28)).append(']')
+                .append(",\"zaman\":\"2024-0").append(1 + random.nextInt(9)).append("-1").append(random.nextInt(10))
+                .append("T1").append(random.nextInt(10)).append(":30:15\"")
+                .append(",\"tutar\":").append(decimal(random))
+                .append(",\"ad\":\"").append(NAMES[random.nextInt(NAMES.length)]).append('"')
+                .append(",\"satirlar\":[");
+        int rows = random.nextInt(5);
+        for (int i = 0; i < rows; i++) {
+            json.append(i > 0 ? "," : "").append("{\"vade\":\"2024-0").append(1 + random.nextInt(9))
+                    .append("-0").append(1 + random.nextInt(9)).append("\",\"tutar\":").append(decimal(random))
+                    .append(",\"adet\":").append(random.nextInt(10)).append('}');
+        }
+        return json.append("]}").toString();
+    }
+
+    private static String decimal(Random random) {
+        return String.format(Locale.ROOT, "%.2f", 1 + random.nextDouble() * 100_000);
+    }
+
+    private static final class Recorder implements ConversionListener {
+        private final List<Event> events = new ArrayList<>();
+
+        @Override
+        public void onConversion(Event event) {
+            events.add(event);
+        }
+
+        private Event last() {
+            return events.get(events.size() - 1);
+        }
+    }
+}
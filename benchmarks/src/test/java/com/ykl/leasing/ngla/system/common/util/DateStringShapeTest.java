@@ -0,0 +1,148 @@
+package com.ykl.leasing.ngla.system.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalQuery;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// classify, eski exception'la çalışan parse denemeleriyle karşılaştırılır: JDK parser'larından biri metni kabul
+// ediyorsa classify o parser'ın şeklini dönmelidir. Tersi aranmaz; şekil kontrolü 2024-02-30 gibi imkansız
+// tarihleri ve +18:30 gibi sınır dışı offset'leri de kabul eder. İşaretli ya da 4 haneden uzun yıllarda beklenen
+// şekil EXTENDED_YEAR'dır; bunlar çağıranda eski JDK parse denemelerine bırakılır.
+class DateStringShapeTest {
+
+    private static final DateTimeFormatter SPACED_MINUTES = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final DateTimeFormatter SPACED_SECONDS = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final DateTimeFormatter DOTTED_DATE = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+    private static final DateTimeFormatter DOTTED_DATE_TIME = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
+
+    private static final String[] TEMPLATES = {
+            "2024-01-02", "2024-01-02T10:30", "2024-01-02T10:30:15", "2024-01-02T10:30:15.123",
+            "2024-01-02T10:30:15.123456789", "2024-01-02T10:30Z", "2024-01-02T10:30:15+03:00",
+            "2024-01-02T10:30:15.5-05:30:15", "2024-01-02T10:30:15+03", "2024-01-02 10:30", "2024-01-02 10:30:15",
+            "02.01.2024", "02.01.2024 10:30", "+12024-01-02T10:30:15", "-0001-01-02", "02.01.+12024 10:30",
+            "12.50", "1234567890", "hello world"
+    };
+    private static final String ALPHABET = "0123456789-:.T Z+";
+
+    @Test
+    void knownShapes() {
+        assertEquals(DateStringShape.ISO_DATE, DateStringShape.classify("2024-01-02"));
+        assertEquals(DateStringShape.ISO_DATE, DateStringShape.classify("2024-02-30"));
+        assertEquals(DateStringShape.ISO_DATE_TIME_MINUTES, DateStringShape.classify("2024-01-02T10:30"));
+        assertEquals(DateStringShape.ISO_DATE_TIME_SECONDS, DateStringShape.classify("2024-01-02T10:30:15"));
+        assertEquals(DateStringShape.ISO_DATE_TIME_FRACTION, DateStringShape.classify("2024-01-02T10:30:15.5"));
+        assertEquals(DateStringShape.ISO_OFFSET_DATE_TIME, DateStringShape.classify("2024-01-02T10:30:15Z"));
+        assertEquals(DateStringShape.ISO_OFFSET_DATE_TIME, DateStringShape.classify("2024-01-02T10:30+03:00"));
+        assertEquals(DateStringShape.SPACED_DATE_TIME_MINUTES, DateStringShape.classify("2024-01-02 10:30"));
+        assertEquals(DateStringShape.SPACED_DATE_TIME_SECONDS, DateStringShape.classify("2024-01-02 10:30:15"));
+        assertEquals(DateStringShape.DOTTED_DATE, DateStringShape.classify("02.01.2024"));
+        assertEquals(DateStringShape.DOTTED_DATE_TIME, DateStringShape.classify("02.01.2024 10:30"));
+
+        assertEquals(DateStringShape.NONE, DateStringShape.classify(""));
+        assertEquals(DateStringShape.NONE, DateStringShape.classify("12.50"));
+        assertEquals(DateStringShape.NONE, DateStringShape.classify("2024-13-02"));
+        assertEquals(DateStringShape.SPACED_DATE_TIME_MINUTES, DateStringShape.classify("2024-01-02 24:00"));
+        assertEquals(DateStringShape.NONE, DateStringShape.classify("2024-01-02T24:01"));
+        assertEquals(DateStringShape.NONE, DateStringShape.classify("2024-01-02T10:30:15.1234567890"));
+        assertEquals(DateStringShape.EXTENDED_YEAR, DateStringShape.classify("+12024-01-02"));
+        assertEquals(DateStringShape.EXTENDED_YEAR, DateStringShape.classify("-2024-01-02T10:30:15Z"));
+        assertEquals(DateStringShape.EXTENDED_YEAR, DateStringShape.classify("12024-01-02"));
+        assertEquals(DateStringShape.EXTENDED_YEAR, DateStringShape.classify("+999999999-12-31T10:30:15.123456789+03:00"));
+        assertEquals(DateStringShape.EXTENDED_YEAR, DateStringShape.classify("02.01.+12024"));
+        assertEquals(DateStringShape.EXTENDED_YEAR, DateStringShape.classify("02.01.+2024 10:30"));
+        assertEquals(DateStringShape.NONE, DateStringShape.classify("+123-01-02"));
+        assertEquals(DateStringShape.NONE, DateStringShape.classify("12345678901"));
+        assertEquals(DateStringShape.NONE, DateStringShape.classify("02.01.12024x"));
+        assertEquals(DateStringShape.NONE, DateStringShape.classify("2024-01-02t10:30"));
+    }
+
+    @Test
+    void matchesJdkParsers() {
+        Random random = new Random(4);
+        for (int i = 0; i < 200_000; i++) {
+            String text = mutate(TEMPLATES[random.nextInt(TEMPLATES.length)], random);
+            DateStringShape expected = jdkShape(text);
+            if (expected != DateStringShape.NONE) {
+                assertEquals(expected, DateStringShape.classify(text), text);
+            }
+        }
+    }
+
+    // Rakamları rastgele değiştirir, ardından birkaç karakter ekler/siler/değiştirir
+    private static String mutate(String template, Random random) {
+        StringBuilder text = new StringBuilder(template);
+        for (int i = 0; i < text.length(); i++) {
+            if (Character.isDigit(text.charAt(i)) && random.nextInt(3) == 0) {
+                text.setCharAt(i, (char) ('0' + random.nextInt(10)));
+            }
+        }
+        int edits = random.nextInt(3);
+        for (int i = 0; i < edits && text.length() > 0; i++) {
+            int position = random.nextInt(text.length());
+            char c = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+            switch (random.nextInt(3)) {
+                case 0 -> text.insert(position, c);
+                case 1 -> text.deleteCharAt(position);
+                default -> text.setCharAt(position, c);
+            }
+        }
+        return text.toString();
+    }
+
+    // Metni kabul eden ilk JDK parser'ının şekli; yıl işaretli ya da 4 haneden uzunsa EXTENDED_YEAR
+    private static DateStringShape jdkShape(String text) {
+        DateStringShape shape = jdkParserShape(text);
+        if (shape == DateStringShape.NONE) {
+            return shape;
+        }
+        int start = shape == DateStringShape.DOTTED_DATE || shape == DateStringShape.DOTTED_DATE_TIME ? 6 : 0;
+        char first = text.charAt(start);
+        boolean extended = first == '+' || first == '-'
+                || (text.length() > start + 4 && Character.isDigit(text.charAt(start + 4)));
+        return extended ? DateStringShape.EXTENDED_YEAR : shape;
+    }
+
+    private static DateStringShape jdkParserShape(String text) {
+        if (parses(text, DateTimeFormatter.ISO_LOCAL_DATE, LocalDate::from)) {
+            return DateStringShape.ISO_DATE;
+        }
+        if (parses(text, DateTimeFormatter.ISO_LOCAL_DATE_TIME, LocalDateTime::from)) {
+            return text.length() == 16 ? DateStringShape.ISO_DATE_TIME_MINUTES
+                    : text.length() == 19 ? DateStringShape.ISO_DATE_TIME_SECONDS
+                    : DateStringShape.ISO_DATE_TIME_FRACTION;
+        }
+        if (parses(text, DateTimeFormatter.ISO_OFFSET_DATE_TIME, OffsetDateTime::from)) {
+            return DateStringShape.ISO_OFFSET_DATE_TIME;
+        }
+        if (parses(text, SPACED_MINUTES, LocalDateTime::from)) {
+            return DateStringShape.SPACED_DATE_TIME_MINUTES;
+        }
+        if (parses(text, SPACED_SECONDS, LocalDateTime::from)) {
+            return DateStringShape.SPACED_DATE_TIME_SECONDS;
+        }
+        if (parses(text, DOTTED_DATE, LocalDate::from)) {
+            return DateStringShape.DOTTED_DATE;
+        }
+        if (parses(text, DOTTED_DATE_TIME, LocalDateTime::from)) {
+            return DateStringShape.DOTTED_DATE_TIME;
+        }
+        return DateStringShape.NONE;
+    }
+
+    private static boolean parses(String text, DateTimeFormatter formatter, TemporalQuery<?> query) {
+        try {
+            formatter.parse(text, query);
+            return true;
+        } catch (DateTimeException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.ykl.leasing.ngla.system.common.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// convert(Path, Path) convert(String) ile aynı çıktıyı yazmalıdır. Eşlenen parçaların ve çıktı buffer'ının
+// sınırları küçük boyutlarla zorlanır; hata durumunda hedef dosya değişmez ve geçici dosya kalmaz.
+class FileConversionTest {
+
+    private static final JsonConversionEngine ENGINE = JsonConversionEngine.builder()
+            .rule(ConversionRules.dateArrays(true))
+            .rule(ConversionRules.dateStrings())
+            .rule(ConversionRules.decimals(FixedDecimalFormat.TR::format))
+            .rule(ConversionRules.integersAsText())
+            .build();
+    private static final Map<String, String> FORMATTERS = Map.of("*tarih", "DATE|dd/MM/yyyy");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void fileMatchesString() throws Exception {
+        Path input = directory.resolve("input.json");
+        Path output = directory.resolve("output.json");
+        Random random = new Random(12);
+        for (int i = 0; i < 300; i++) {
+            String json = RandomDocuments.document(random) + (random.nextBoolean() ? "\n" : "");
+            Files.writeString(input, json);
+
+            ENGINE.convert(input, output);
+            assertEquals(ENGINE.convert(json), Files.readString(output), json);
+
+            JsonPreProcessor.enrichDatesAndNumbersWithFormattedStrings(input, output, FORMATTERS);
+            assertEquals(JsonPreProcessor.enrichDatesAndNumbersWithFormattedStrings(json, FORMATTERS),
+                    Files.readString(output), json);
+        }
+        assertEquals(Set.of(input, output), files());
+    }
+
+    @Test
+    void smallRegionsAndBuffers() throws Exception {
+        Path input = directory.resolve("input.json");
+        Path output = directory.resolve("output.json");
+        Random random = new Random(21);
+        StringBuilder array = new StringBuilder("[");
+        for (int i = 0; i < 60; i++) {
+            array.append(i > 0 ? "," : "").append(RandomDocuments.object(random, 0)).append(",\"ğüşİ\"");
+        }
+        String json = array.append(']').toString();
+        Files.writeString(input, json);
+        byte[] bytes = Files.readAllBytes(input);
+
+        // Tek tek ve rastgele uzunluklarda okunan baytlar dosyayla aynıdır. Her parça ayrı bir eşleme olduğundan
+        // dosya küçük tutulur (eşleme sayısı işletim sistemi sınırına takılmasın)
+        for (int regionSize : new int[]{3, 7, 4096}) {
+            ByteArrayOutputStream read = new ByteArrayOutputStream();
+            try (InputStream in = new MappedFileInputStream(FileChannel.open(input, StandardOpenOption.READ), regionSize)) {
+                byte[] buffer = new byte[50];
+                int count;
+                while ((count = random.nextBoolean() ? in.read(buffer, 0, 1 + random.nextInt(50)) : single(in, buffer)) >= 0) {
+                    read.write(buffer, 0, count);
+                }
+            }
+            assertArrayEquals(bytes, read.toByteArray(), "regionSize " + regionSize);
+
+            // Parça sınırları çok baytlı UTF-8 karakterlerin ortasına düşebilir
+            try (InputStream in = new MappedFileInputStream(FileChannel.open(input, StandardOpenOption.READ), regionSize);
+                 OutputStream out = new ChannelOutputStream(FileChannel.open(output, StandardOpenOption.WRITE,
+                         StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.CREATE), 1 + random.nextInt(10))) {
+                ENGINE.convert(in, out);
+            }
+            assertEquals(ENGINE.convert(json), Files.readString(output, StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void failureKeepsTarget() throws Exception {
+        Path input = directory.resolve("input.json");
+        Path output = directory.resolve("output.json");
+        Files.writeString(input, "{\"tarih\":[2024,1,2],\"rows\":[1,2");
+        Files.writeString(output, "old");
+
+        assertThrows(IOException.class, () -> ENGINE.convert(input, output));
+        assertThrows(RuntimeException.class,
+                () -> JsonPreProcessor.enrichDatesAndNumbersWithFormattedStrings(input, output, FORMATTERS));
+        assertEquals("old", Files.readString(output));
+        assertEquals(Set.of(input, output), files());
+    }
+
+    @Test
+    void keepsTargetPermissions() throws Exception {
+        assumeTrue(Files.getFileAttributeView(directory, PosixFileAttributeView.class) != null);
+        Path input = directory.resolve("input.json");
+        Path output = directory.resolve("output.json");
+        Files.writeString(input, "[2024,1,2]");
+        Files.writeString(output, "old");
+        Set<PosixFilePermission> permissions = PosixFilePermissions.fromString("rw-r-----");
+        Files.setPosixFilePermissions(output, permissions);
+
+        ENGINE.convert(input, output);
+        assertEquals("\"02.01.2024\"", Files.readString(output));
+        assertEquals(permissions, Files.getPosixFilePermissions(output));
+    }
+
+    private static int single(InputStream in, byte[] buffer) throws IOException {
+        int b = in.read();
+        if (b < 0) {
+            return -1;
+        }
+        buffer[0] = (byte) b;
+        return 1;
+    }
+
+    private Set<Path> files() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.collect(Collectors.toSet());
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.ykl.leasing.ngla.system.common.util;
+
+import com.fasterxml.jackson.databind.node.DecimalNode;
+import com.fasterxml.jackson.databind.node.DoubleNode;
+import com.fasterxml.jackson.databind.node.LongNode;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+// FixedDecimalFormat, HALF_UP'a ayarlanmış DecimalFormat("#,##0.00") ile aynı metni üretmelidir. Tek bilinçli fark:
+// sıfıra yuvarlanan negatif değerler "-0,00" değil "0,00" yazılır.
+// Her yol ayrı denenir: long + scale <= 18 hane, scale > 2 (yuvarlama), scale < 2 ve negatif scale (çarpma ve
+// taşma), 18 haneden uzun değerler (BigInteger) ve bölenin long'a sığmadığı büyük scale'ler.
+class FixedDecimalFormatTest {
+
+    private static final Locale TR = new Locale("tr", "TR");
+
+    @Test
+    void knownValues() {
+        assertEquals("1.234.567,89", FixedDecimalFormat.TR.format(new BigDecimal("1234567.885")));
+        assertEquals("2,68", FixedDecimalFormat.TR.format(2.675));
+        assertEquals("-2,68", FixedDecimalFormat.TR.format(new BigDecimal("-2.675")));
+        assertEquals("0,00", FixedDecimalFormat.TR.format(new BigDecimal("-0.004")));
+        assertEquals("-0,01", FixedDecimalFormat.TR.format(new BigDecimal("-0.005")));
+        assertEquals("12,35 TL", FixedDecimalFormat.TR_TL.format(1235, 2));
+        assertEquals("1.200,00", FixedDecimalFormat.TR.format(12, -2));
+        assertEquals("1234.50 TL", FixedDecimalFormat.ungrouped('.', " TL").format(new BigDecimal("1234.5")));
+        assertEquals("-92.233.720.368.547.758,08", FixedDecimalFormat.TR.format(Long.MIN_VALUE, 2));
+        assertEquals("NaN", FixedDecimalFormat.TR.format(DoubleNode.valueOf(Double.NaN)));
+        assertNull(FixedDecimalFormat.forPattern("#,##0.000", TR));
+    }
+
+    @Test
+    void matchesDecimalFormat() {
+        Random random = new Random(19);
+        DecimalFormat reference = reference(TR, "");
+        for (int i = 0; i < 200_000; i++) {
+            BigDecimal value = randomValue(random);
+            assertFormats(reference, FixedDecimalFormat.TR, value);
+        }
+    }
+
+    @Test
+    void matchesDecimalFormatAtBoundaries() {
+        DecimalFormat reference = reference(TR, "");
+        long[] unscaled = {0, 1, -1, 4, 5, -5, 49, 50, -50, 99, 999, 1000, 999_999, Long.MAX_VALUE, Long.MIN_VALUE,
+                Long.MAX_VALUE / 100, Long.MIN_VALUE / 100, Long.MAX_VALUE / 10 + 1, 922_337_203_685_477_580L};
+        for (long value : unscaled) {
+            for (int scale = -25; scale <= 25; scale++) {
+                BigDecimal decimal = BigDecimal.valueOf(value, scale);
+                assertEquals(expected(reference, decimal), FixedDecimalFormat.TR.format(value, scale),
+                        value + " scale " + scale);
+                assertFormats(reference, FixedDecimalFormat.TR, decimal);
+            }
+        }
+        // Yarım değerler: bölenin tam yarısı sıfırdan uzağa yuvarlanır
+        for (int drop = 1; drop <= 21; drop++) {
+            BigDecimal half = new BigDecimal(BigInteger.valueOf(5).multiply(BigInteger.TEN.pow(drop - 1)), drop + 2);
+            assertFormats(reference, FixedDecimalFormat.TR, half.add(BigDecimal.ONE));
+            assertFormats(reference, FixedDecimalFormat.TR, half.add(BigDecimal.ONE).negate());
+        }
+    }
+
+    @Test
+    void matchesOtherSymbolsAndNodes() {
+        Random random = new Random(7);
+        DecimalFormat us = reference(Locale.US, " TL");
+        FixedDecimalFormat fixedUs = FixedDecimalFormat.of(Locale.US, " TL");
+        DecimalFormat tr = reference(TR, "");
+        for (int i = 0; i < 50_000; i++) {
+            BigDecimal value = randomValue(random);
+            assertFormats(us, fixedUs, value);
+            assertEquals(value.setScale(2, RoundingMode.HALF_UP).toPlainString() + " TL",
+                    FixedDecimalFormat.ungrouped('.', " TL").format(value), value.toString());
+            assertEquals(expected(tr, value), FixedDecimalFormat.TR.format(DecimalNode.valueOf(value)), value.toString());
+
+            long whole = random.nextLong();
+            assertEquals(expected(tr, BigDecimal.valueOf(whole)), FixedDecimalFormat.TR.format(LongNode.valueOf(whole)));
+            double number = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(20));
+            assertEquals(expected(tr, BigDecimal.valueOf(number)), FixedDecimalFormat.TR.format(number),
+                    Double.toString(number));
+        }
+    }
+
+    private static void assertFormats(DecimalFormat reference, FixedDecimalFormat format, BigDecimal value) {
+        String expected = expected(reference, value);
+        assertEquals(expected, format.format(value), value.toString());
+        assertEquals(expected, format.appendTo(new StringBuilder("x"), value).substring(1), value.toString());
+    }
+
+    private static String expected(DecimalFormat reference, BigDecimal value) {
+        String formatted = reference.format(value);
+        // "-0,00" -> "0,00"
+        if (value.setScale(2, RoundingMode.HALF_UP).signum() == 0
+                && formatted.charAt(0) == reference.getDecimalFormatSymbols().getMinusSign()) {
+            return formatted.substring(1);
+        }
+        return formatted;
+    }
+
+    private static DecimalFormat reference(Locale locale, String suffix) {
+        DecimalFormat format = new DecimalFormat("#,##0.00", DecimalFormatSymbols.getInstance(locale));
+        format.setRoundingMode(RoundingMode.HALF_UP);
+        format.setPositiveSuffix(suffix);
+        format.setNegativeSuffix(suffix);
+        return format;
+    }
+
+    // Hane sayısı (1-30) ve scale (-6..24) rastgele; 18 haneyi aşan ve long bölene sığmayan yollar da denenir
+    private static BigDecimal randomValue(Random random) {
+        int digits = 1 + random.nextInt(30);
+        BigInteger unscaled = new BigInteger(digits * 4, random).mod(BigInteger.TEN.pow(digits));
+        if (random.nextBoolean()) {
+            unscaled = unscaled.negate();
+        }
+        return new BigDecimal(unscaled, random.nextInt(31) - 6);
+    }
+}
@@ -0,0 +1,144 @@
+package com.ykl.leasing.ngla.system.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+// Tam yol ve wildcard kuralları ayrı tutulsa da sonuç, haritanın sırasıyla denenen regex'lerle aynı olmalıdır:
+// yola uyan ilk kural kazanır.
+class FormatterRulesTest {
+
+    private static final String[] SEGMENTS = {"a", "b", "ab", "tutar", "tarih", "0", "x.y"};
+
+    @Test
+    void firstMatchingRuleWins() {
+        Map<String, String> formatters = new LinkedHashMap<>();
+        formatters.put("*.tutar", "DECIMAL|#,##0.000");
+        formatters.put("root.tutar", "DECIMAL|#,##0.00");
+        formatters.put("root.tarih", "DATE|dd/MM/yyyy");
+        formatters.put("root.*", "DEFAULT");
+        FormatterRules rules = FormatterRules.compile(formatters);
+
+        // Tam yol kuralı, kendisinden önce gelen wildcard'a yenilir; sonra gelene yenilmez
+        assertEquals("*.tutar", rules.matchingPattern("root.tutar"));
+        assertEquals("root.tarih", rules.matchingPattern("root.tarih"));
+        assertEquals("root.*", rules.matchingPattern("root.other"));
+        assertEquals("*.tutar", rules.matchingPattern("a.b.tutar"));
+        assertEquals(FormatterSpec.Type.DATE, rules.match("root.tarih").type());
+        assertNull(rules.match("tutar"));
+        assertNull(FormatterRules.EMPTY.match("root.tutar"));
+    }
+
+    @Test
+    void matchesOrderedRegexScan() {
+        Random random = new Random(2);
+        for (int round = 0; round < 500; round++) {
+            Map<String, String> formatters = new LinkedHashMap<>();
+            int size = 1 + random.nextInt(8);
+            while (formatters.size() < size) {
+                formatters.put(randomPattern(random), "DECIMAL|#,##0.0" + formatters.size());
+            }
+            FormatterRules rules = FormatterRules.compile(formatters);
+            for (int i = 0; i < 200; i++) {
+                String path = randomPath(random);
+                String expected = regexScan(formatters, path);
+                assertEquals(expected, rules.matchingPattern(path), formatters + " " + path);
+                // İkinci sorgu yol önbelleğinden gelir
+                assertEquals(expected, rules.matchingPattern(path), formatters + " " + path);
+                if (expected != null) {
+                    assertEquals(formatters.get(expected).substring(formatters.get(expected).indexOf('|') + 1),
+                            rules.match(path).pattern());
+                }
+            }
+        }
+    }
+
+    @Test
+    void cachedReturnsSameCompiledRules() {
+        Map<String, String> formatters = new LinkedHashMap<>();
+        formatters.put("*.tutar", "DECIMAL|#,##0.00");
+        formatters.put("root.tarih", "DATE|dd/MM/yyyy");
+        Map<String, String> copy = new LinkedHashMap<>(formatters);
+        assertSame(FormatterRules.cached(formatters), FormatterRules.cached(copy));
+        assertSame(FormatterRules.EMPTY, FormatterRules.cached(Map.of()));
+    }
+
+    @Test
+    void cachedEvictsLeastRecentlyUsed() {
+        Map<String, String> kept = Map.of("lru.kept", "DEFAULT");
+        FormatterRules keptRules = FormatterRules.cached(kept);
+        FormatterRules evicted = FormatterRules.cached(Map.of("lru.0", "DEFAULT"));
+        for (int i = 1; i <= FormatterRules.MAX_CACHED_RULE_SETS; i++) {
+            FormatterRules.cached(Map.of("lru." + i, "DEFAULT"));
+            assertSame(keptRules, FormatterRules.cached(kept));
+        }
+        assertSame(keptRules, FormatterRules.cached(kept));
+        assertNotSame(evicted, FormatterRules.cached(Map.of("lru.0", "DEFAULT")));
+    }
+
+    @Test
+    void preProcessorEngineBuiltOncePerRules() {
+        FormatterRules rules = FormatterRules.compile(Map.of("a", "DEFAULT"));
+        JsonPreProcessor.enrichDatesAndNumbersWithFormattedStrings("{\"a\":1.5}", rules);
+        JsonConversionEngine engine = rules.preProcessorEngine;
+        assertEquals("{\"a\":1.5,\"aFormatted\":\"1,50\"}",
+                JsonPreProcessor.enrichDatesAndNumbersWithFormattedStrings("{\"a\":1.5}", rules));
+        assertSame(engine, rules.preProcessorEngine);
+
+        // Dinleyici değişince motor yeniden kurulur ve yeni dinleyiciye bildirir
+        ConversionMetrics metrics = new ConversionMetrics();
+        JsonPreProcessor.setListener(metrics);
+        try {
+            JsonPreProcessor.enrichDatesAndNumbersWithFormattedStrings("{\"a\":1.5}", rules);
+            assertNotSame(engine, rules.preProcessorEngine);
+            assertEquals(1, metrics.snapshot().conversions());
+        } finally {
+            JsonPreProcessor.setListener(null);
+        }
+    }
+
+    private static String regexScan(Map<String, String> formatters, String path) {
+        for (String pattern : formatters.keySet()) {
+            String regex = Pattern.quote(pattern).replace("*", "\\E.*\\Q");
+            if (path.matches(regex)) {
+                return pattern;
+            }
+        }
+        return null;
+    }
+
+    private static String randomPattern(Random random) {
+        StringBuilder pattern = new StringBuilder();
+        int parts = 1 + random.nextInt(3);
+        for (int i = 0; i < parts; i++) {
+            if (i > 0) {
+                pattern.append('.');
+            }
+            pattern.append(random.nextInt(3) == 0 ? "*" : SEGMENTS[random.nextInt(SEGMENTS.length)]);
+        }
+        if (random.nextInt(5) == 0) {
+            pattern.append('*');
+        }
+        return pattern.toString();
+    }
+
+    private static String randomPath(Random random) {
+        StringBuilder path = new StringBuilder();
+        int parts = 1 + random.nextInt(4);
+        for (int i = 0; i < parts; i++) {
+            if (i > 0) {
+                path.append('.');
+            }
+            path.append(SEGMENTS[random.nextInt(SEGMENTS.length)]);
+        }
+        return path.toString();
+    }
+}
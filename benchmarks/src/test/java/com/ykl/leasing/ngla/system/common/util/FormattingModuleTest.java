@@ -0,0 +1,180 @@
+package com.ykl.leasing.ngla.system.common.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.TextNode;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// FormattingModule'ün çıktısı, aynı nesnenin modülsüz mapper'la yazılıp motorla dönüştürülmesiyle aynı olmalıdır.
+// FORMATTED_SIBLING modunda sınıf açıklamasındaki bilinen farklar (kardeş alanın yeri, Map girdileri, BigDecimal
+// ölçeği) ayrıca doğrulanır.
+class FormattingModuleTest {
+
+    private static final ObjectMapper PLAIN = new ObjectMapper();
+    private static final String[] TEXTS = {"hello", "2024-01-02", "2024-01-02T10:30:15", "12.50", "02.01.2024 10:30", ""};
+
+    public static class Row {
+        public String name;
+        public String note;
+        public double amount;
+        public Long count;
+        public BigDecimal rate;
+        public List<Integer> date;
+        public Integer[] dateTime;
+        public Boolean flag;
+        public List<Row> children;
+    }
+
+    public static class Document {
+        public String title;
+        public float ratio;
+        public int[] numbers;
+        public List<Row> rows;
+    }
+
+    public static class Dated {
+        public LocalDate day;
+        public LocalDateTime time;
+        public Map<String, Object> extra;
+    }
+
+    public static class Priced {
+        public BigDecimal amount;
+        public String name;
+    }
+
+    public static class Holder {
+        public Map<String, Object> values;
+    }
+
+    @Test
+    void replaceMatchesTextConversion() throws Exception {
+        JsonConversionEngine engine = JsonConversionEngine.builder()
+                .rule(ConversionRules.dateArrays(true))
+                .rule(ConversionRules.dateStrings())
+                .rule(new UpperCaseNames())
+                .rule(ConversionRules.decimals(FixedDecimalFormat.TR::format))
+                .rule(ConversionRules.integersAsText())
+                .build();
+        ObjectMapper module = new ObjectMapper().registerModule(new FormattingModule(engine));
+        Random random = new Random(18);
+        for (int i = 0; i < 2000; i++) {
+            Document document = document(random);
+            assertEquals(engine.convert(PLAIN.writeValueAsString(document)), module.writeValueAsString(document));
+        }
+
+        // LocalDate/LocalDateTime, JavaTimeModule'ün zaman damgası dizisiyle aynı şekilde dönüştürülür; Map değerleri de
+        Dated dated = new Dated();
+        dated.day = LocalDate.of(2024, 1, 2);
+        dated.time = LocalDateTime.of(2024, 1, 2, 10, 30, 15);
+        dated.extra = new LinkedHashMap<>();
+        dated.extra.put("amount", 1234.5);
+        dated.extra.put("date", List.of(2024, 3, 4));
+        assertEquals(engine.convert("{\"day\":[2024,1,2],\"time\":[2024,1,2,10,30,15],"
+                        + "\"extra\":{\"amount\":1234.5,\"date\":[2024,3,4]}}"),
+                module.writeValueAsString(dated));
+    }
+
+    @Test
+    void siblingMatchesTextConversionAsTree() throws Exception {
+        Map<String, String> formatters = new LinkedHashMap<>();
+        formatters.put("rows.*.date", "DATE|dd/MM/yyyy");
+        formatters.put("*.amount", "DECIMAL|#,##0.000|en-US");
+        formatters.put("title", "DEFAULT");
+        ObjectMapper module = new ObjectMapper().registerModule(JsonPreProcessor.formattingModule(formatters));
+        Random random = new Random(81);
+        for (int i = 0; i < 2000; i++) {
+            Document document = document(random);
+            String text = JsonPreProcessor.enrichDatesAndNumbersWithFormattedStrings(
+                    PLAIN.writeValueAsString(document), formatters);
+            String written = module.writeValueAsString(document);
+            // Alan sırası farklıdır (modül kardeşi alanın hemen arkasına yazar); ObjectNode.equals sırayı gözetmez
+            assertEquals(PLAIN.readTree(text), PLAIN.readTree(written), written);
+        }
+    }
+
+    @Test
+    void siblingKnownDifferences() throws Exception {
+        Map<String, String> formatters = Map.of();
+        ObjectMapper module = new ObjectMapper().registerModule(JsonPreProcessor.formattingModule(formatters));
+
+        // Kardeş alan, metin yolunda nesnenin sonuna; modülde alanın hemen arkasına yazılır
+        Priced priced = new Priced();
+        priced.amount = new BigDecimal("5.5");
+        priced.name = "x";
+        assertEquals("{\"amount\":5.5,\"name\":\"x\",\"amountFormatted\":\"5,50\"}",
+                JsonPreProcessor.enrichDatesAndNumbersWithFormattedStrings(PLAIN.writeValueAsString(priced), formatters));
+        assertEquals("{\"amount\":5.5,\"amountFormatted\":\"5,50\",\"name\":\"x\"}", module.writeValueAsString(priced));
+
+        // BigDecimal ölçeğini ve hassasiyetini korur; metin yolu double'a okur
+        priced.amount = new BigDecimal("12345678901234567.895");
+        assertEquals("{\"amount\":1.2345678901234568E16,\"name\":\"x\",\"amountFormatted\":\"12.345.678.901.234.568,00\"}",
+                JsonPreProcessor.enrichDatesAndNumbersWithFormattedStrings(PLAIN.writeValueAsString(priced), formatters));
+        assertEquals("{\"amount\":12345678901234567.895,\"amountFormatted\":\"12.345.678.901.234.567,90\",\"name\":\"x\"}",
+                module.writeValueAsString(priced));
+
+        // Map girdilerine kardeş alan eklenmez
+        Holder holder = new Holder();
+        holder.values = new LinkedHashMap<>();
+        holder.values.put("amount", 2.5);
+        assertEquals("{\"values\":{\"amount\":2.5,\"amountFormatted\":\"2,50\"}}",
+                JsonPreProcessor.enrichDatesAndNumbersWithFormattedStrings(PLAIN.writeValueAsString(holder), formatters));
+        assertEquals("{\"values\":{\"amount\":2.5}}", module.writeValueAsString(holder));
+    }
+
+    // Yol kullanan kural: sadece satır adlarını büyük harfe çevirir
+    private static final class UpperCaseNames implements JsonConversionEngine.Rule {
+
+        @Override
+        public JsonNode apply(JsonNode value, String path) {
+            return value.isTextual() && path.equals("rows.*.name") ? TextNode.valueOf(value.textValue().toUpperCase()) : null;
+        }
+
+        @Override
+        public boolean needsPath() {
+            return true;
+        }
+    }
+
+    private static Document document(Random random) {
+        Document document = new Document();
+        document.title = random.nextInt(4) == 0 ? null : TEXTS[random.nextInt(TEXTS.length)];
+        document.ratio = random.nextInt(3) == 0 ? 0 : random.nextFloat() * 1000;
+        document.numbers = random.nextBoolean() ? null : random.ints(random.nextInt(9), 0, 3000).toArray();
+        document.rows = random.nextInt(5) == 0 ? null : rows(random, 0);
+        return document;
+    }
+
+    private static List<Row> rows(Random random, int depth) {
+        List<Row> rows = new ArrayList<>();
+        int size = random.nextInt(depth == 0 ? 8 : 3);
+        for (int i = 0; i < size; i++) {
+            Row row = new Row();
+            row.name = TEXTS[random.nextInt(TEXTS.length)];
+            row.note = random.nextBoolean() ? null : TEXTS[random.nextInt(TEXTS.length)];
+            row.amount = random.nextInt(4) == 0 ? random.nextInt(1000) : (random.nextDouble() - 0.3) * 100_000;
+            row.count = random.nextBoolean() ? null : random.nextLong() >> random.nextInt(64);
+            // Ölçeği 0 olan ya da sondaki sıfırı olmayan BigDecimal metinde de aynı okunur
+            row.rate = random.nextBoolean() ? null : BigDecimal.valueOf(random.nextInt(100_000) * 10 + 1, random.nextInt(4));
+            row.date = random.nextBoolean() ? null
+                    : List.of(2000 + random.nextInt(30), 1 + random.nextInt(random.nextInt(5) == 0 ? 14 : 12), 1 + random.nextInt(28));
+            row.dateTime = random.nextBoolean() ? null
+                    : new Integer[]{2024, 1 + random.nextInt(12), 1 + random.nextInt(28), random.nextInt(24), random.nextInt(60)};
+            row.flag = random.nextBoolean() ? null : random.nextBoolean();
+            row.children = depth < 2 && random.nextInt(3) == 0 ? rows(random, depth + 1) : null;
+            rows.add(row);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,64 @@
+package com.ykl.leasing.ngla.system.common.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+// apply(root, false) girdiye dokunmadan yeni ağaç döner, apply(root, true) ağacı yerinde değiştirir; iki modun
+// sonucu aynıdır
+class InPlaceApplyTest {
+
+    private static final JsonConversionEngine REPLACE = JsonConversionEngine.builder()
+            .rule(ConversionRules.dateArrays(true))
+            .rule(ConversionRules.dateStrings())
+            .rule(ConversionRules.decimals(FixedDecimalFormat.TR::format))
+            .rule(ConversionRules.integersAsText())
+            .build();
+    private static final JsonConversionEngine SIBLING = JsonPreProcessor.compile(Map.of("*tarih", "DATE|dd/MM/yyyy"));
+
+    @Test
+    void copyAndInPlaceAgree() throws Exception {
+        Random random = new Random(6);
+        for (int i = 0; i < 3000; i++) {
+            String json = RandomDocuments.document(random);
+            assertModesAgree(REPLACE, json);
+            assertModesAgree(SIBLING, json);
+        }
+    }
+
+    @Test
+    void copySharesUnchangedScalars() throws Exception {
+        ObjectNode input = (ObjectNode) JsonMappers.READER.readTree("{\"name\":\"x\",\"rows\":[{\"tarih\":[2024,1,2]}]}");
+        ObjectNode copy = (ObjectNode) SIBLING.apply(input, false);
+        assertNotSame(input, copy);
+        assertNotSame(input.get("rows"), copy.get("rows"));
+        assertSame(input.get("name"), copy.get("name"));
+        assertEquals("{\"name\":\"x\",\"rows\":[{\"tarih\":[2024,1,2]}]}", input.toString());
+        assertEquals("{\"name\":\"x\",\"rows\":[{\"tarih\":[2024,1,2],\"tarihFormatted\":\"02/01/2024\"}]}",
+                copy.toString());
+
+        // Yerinde modda kap düğümler aynı kalır, içerikleri değişir
+        ArrayNode rows = (ArrayNode) input.get("rows");
+        assertSame(input, SIBLING.apply(input, true));
+        assertSame(rows, input.get("rows"));
+        assertEquals(copy, input);
+    }
+
+    private static void assertModesAgree(JsonConversionEngine engine, String json) throws Exception {
+        JsonNode input = JsonMappers.READER.readTree(json);
+        JsonNode original = input.deepCopy();
+        JsonNode copied = engine.apply(input, false);
+        assertEquals(original, input, json);
+        JsonNode mutated = engine.apply(input, true);
+        assertEquals(copied, mutated, json);
+        assertEquals(engine.convert(json), JsonMappers.WRITER.writeValueAsString(mutated), json);
+    }
+}
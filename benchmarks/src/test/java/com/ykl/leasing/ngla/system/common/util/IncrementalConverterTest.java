@@ -0,0 +1,139 @@
+package com.ykl.leasing.ngla.system.common.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Art arda gelen ve birkaç alanı değişen belgelerde IncrementalConverter'ın çıktısı motorun her seferinde baştan
+// dönüştürmesiyle aynı olmalıdır; "Formatted" kardeş alanlarıyla çakışan adlar, eklenen/silinen alanlar ve araya
+// eklenen dizi elemanları dahil. Tek alan değiştiğinde sadece değişen yol yeniden dolaşılır.
+class IncrementalConverterTest {
+
+    private static final String[] KEYS = {"amt", "amtFormatted", "tarih", "tarihFormatted", "rows", "x"};
+
+    private static final JsonConversionEngine REPLACE = JsonConversionEngine.builder()
+            .rule(ConversionRules.dateArrays(true))
+            .rule(ConversionRules.dateStrings())
+            .rule(ConversionRules.decimals(FixedDecimalFormat.TR::format))
+            .rule(ConversionRules.integersAsText())
+            .build();
+    private static final JsonConversionEngine SIBLING = JsonPreProcessor.compile(Map.of("*tarih", "DATE|dd/MM/yyyy"));
+
+    @Test
+    void matchesFullConversion() throws Exception {
+        for (JsonConversionEngine engine : new JsonConversionEngine[]{REPLACE, SIBLING}) {
+            Random random = new Random(20);
+            for (int document = 0; document < 200; document++) {
+                IncrementalConverter incremental = new IncrementalConverter(engine);
+                JsonNode tree = JsonMappers.READER.readTree(RandomDocuments.document(random));
+                for (int poll = 0; poll < 20; poll++) {
+                    String json = tree.toString();
+                    assertEquals(engine.convert(json), incremental.convert(json), json);
+                    if (random.nextInt(4) > 0) {
+                        tree = mutate(tree, random);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void unchangedDocumentsAndReset() throws Exception {
+        IncrementalConverter incremental = new IncrementalConverter(SIBLING);
+        String json = "{\"tarih\":\"2024-01-02\",\"amt\":1.5}";
+        String first = incremental.convert(json);
+        assertEquals(first, incremental.convert(json));
+        assertEquals(first, incremental.convert(new String(json)));
+        assertEquals(new IncrementalConverter.Stats(3, 2), incremental.stats());
+
+        incremental.reset();
+        assertEquals(first, incremental.convert(json));
+        assertEquals(new IncrementalConverter.Stats(4, 2), incremental.stats());
+    }
+
+    @Test
+    void visitsOnlyChangedPath() throws Exception {
+        List<ConversionListener.Event> events = new ArrayList<>();
+        ConversionListener listener = new ConversionListener() {
+            @Override
+            public void onConversion(Event event) {
+                events.add(event);
+            }
+        };
+        JsonConversionEngine engine = JsonConversionEngine.builder()
+                .rule(ConversionRules.dateArrays(true))
+                .rule(ConversionRules.decimals(FixedDecimalFormat.TR::format))
+                .listener(listener)
+                .build();
+        IncrementalConverter incremental = new IncrementalConverter(engine);
+
+        StringBuilder rows = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            rows.append(i > 0 ? "," : "").append("{\"tarih\":[2024,1,2],\"tutar\":").append(i).append(".5}");
+        }
+        String json = "{\"id\":1,\"rows\":[" + rows + "]}";
+        incremental.convert(json);
+        long full = events.get(0).nodesVisited();
+
+        String changed = json.replace("\"tutar\":500.5", "\"tutar\":500.25");
+        String result = incremental.convert(changed);
+        // Kök, "rows", değişen satır ve değişen alan
+        assertTrue(events.get(1).nodesVisited() <= 4, "dolaşılan düğüm: " + events.get(1).nodesVisited());
+        assertTrue(full > 3000);
+        assertEquals(engine.convert(changed), result);
+
+        // Sadece alan sırası değişen satır (ObjectNode.equals'a göre eşit) yeni sırayla yazılır
+        String reordered = changed.replace("{\"tarih\":[2024,1,2],\"tutar\":7.5}", "{\"tutar\":7.5,\"tarih\":[2024,1,2]}");
+        assertEquals(engine.convert(reordered), incremental.convert(reordered));
+    }
+
+    // Rastgele bir yoldaki değeri değiştirir; nesnelere alan ekler ya da siler, dizilere araya eleman ekler
+    private static JsonNode mutate(JsonNode root, Random random) throws Exception {
+        JsonNode copy = root.deepCopy();
+        if (!copy.isContainerNode() || copy.isEmpty()) {
+            return JsonMappers.READER.readTree(RandomDocuments.document(random));
+        }
+        JsonNode node = copy;
+        while (true) {
+            int index = random.nextInt(node.size());
+            String key = null;
+            if (node instanceof ObjectNode object) {
+                Iterator<String> names = object.fieldNames();
+                for (int i = 0; i <= index; i++) {
+                    key = names.next();
+                }
+            }
+            JsonNode child = key != null ? node.get(key) : node.get(index);
+            if (child.isContainerNode() && !child.isEmpty() && random.nextBoolean()) {
+                node = child;
+                continue;
+            }
+            JsonNode value = JsonMappers.READER.readTree(RandomDocuments.value(random, 2));
+            if (node instanceof ObjectNode object) {
+                switch (random.nextInt(4)) {
+                    case 0 -> object.remove(key);
+                    case 1 -> object.set(KEYS[random.nextInt(KEYS.length)], value);
+                    default -> object.set(key, value);
+                }
+            } else {
+                ArrayNode array = (ArrayNode) node;
+                if (random.nextBoolean()) {
+                    array.insert(index, value);
+                } else {
+                    array.set(index, value);
+                }
+            }
+            return copy;
+        }
+    }
+}
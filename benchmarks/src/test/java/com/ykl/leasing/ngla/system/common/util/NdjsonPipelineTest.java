@@ -0,0 +1,195 @@
+package com.ykl.leasing.ngla.system.common.util;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Hattın çıktısı her satırın ayrı ayrı convert(String) ile dönüştürülmesiyle aynıdır; bozuk satırlar sırasıyla
+// bildirilip atlanır. Yazma aşaması beklerken okunan satır sayısı kuyruk kapasitesiyle sınırlı kalır.
+class NdjsonPipelineTest {
+
+    private static final String[] MALFORMED = {"{", "[1,", "1 2", "{\"a\":1}x", "tru", "\"kapanmayan"};
+
+    // "patla" metni dönüştürülürken hata fırlatan kural; satır hatası olarak bildirilmelidir
+    private static final JsonConversionEngine ENGINE = JsonConversionEngine.builder()
+            .rule(new JsonConversionEngine.Rule() {
+                @Override
+                public JsonNode apply(JsonNode value, String path) {
+                    if (value.isTextual() && value.textValue().equals("patla")) {
+                        throw new IllegalArgumentException("patla");
+                    }
+                    return null;
+                }
+            })
+            .rule(ConversionRules.dateArrays(true))
+            .rule(ConversionRules.dateStrings())
+            .rule(ConversionRules.decimals(FixedDecimalFormat.TR::format))
+            .build();
+
+    @Test
+    void malformedLinesAreReported() throws Exception {
+        Random random = new Random(13);
+        StringBuilder input = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+        List<Long> expectedMalformed = new ArrayList<>();
+        long lines = 0;
+        for (int lineNumber = 1; lineNumber <= 5000; lineNumber++) {
+            String line;
+            switch (random.nextInt(10)) {
+                case 0 -> line = random.nextBoolean() ? "" : "  ";
+                case 1 -> line = MALFORMED[random.nextInt(MALFORMED.length)];
+                case 2 -> line = "{\"x\":[\"patla\"],\"tarih\":[2024,1,2]}";
+                default -> line = RandomDocuments.document(random);
+            }
+            input.append(line).append(random.nextInt(4) == 0 ? "\r\n" : "\n");
+            if (line.isBlank()) {
+                continue;
+            }
+            lines++;
+            String converted = convertOrNull(line);
+            if (converted == null) {
+                expectedMalformed.add((long) lineNumber);
+            } else {
+                expected.append(converted).append('\n');
+            }
+        }
+
+        for (int batchSize : new int[]{1, 7, NdjsonPipeline.DEFAULT_BATCH_SIZE}) {
+            List<Long> malformed = new ArrayList<>();
+            NdjsonPipeline pipeline = NdjsonPipeline.builder(ENGINE)
+                    .batchSize(batchSize)
+                    .queueCapacity(2)
+                    .onMalformedLine((lineNumber, line, error) -> malformed.add(lineNumber))
+                    .build();
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            NdjsonPipeline.Summary summary = pipeline.convert(
+                    new ByteArrayInputStream(input.toString().getBytes(StandardCharsets.UTF_8)), output);
+
+            assertEquals(expected.toString(), output.toString(StandardCharsets.UTF_8));
+            assertEquals(expectedMalformed, malformed);
+            assertEquals(new NdjsonPipeline.Summary(lines, lines - expectedMalformed.size(), expectedMalformed.size()),
+                    summary);
+        }
+    }
+
+    @Test
+    void readFailureIsThrown() {
+        Reader failing = new Reader() {
+            private final Reader lines = new StringReader("[2024,1,2]\n{\"a\":1.5}\n");
+
+            @Override
+            public int read(char[] buffer, int offset, int length) throws IOException {
+                int count = lines.read(buffer, offset, length);
+                if (count < 0) {
+                    throw new IOException("disk");
+                }
+                return count;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        StringWriter output = new StringWriter();
+        IOException error = assertThrows(IOException.class,
+                () -> NdjsonPipeline.builder(ENGINE).build().convert(failing, output));
+        assertEquals("disk", error.getMessage());
+        // Hatadan önce okunan satırlar yazılmıştır
+        assertEquals("\"02.01.2024\"\n{\"a\":\"1,50\"}\n", output.toString());
+    }
+
+    @Test
+    void slowWriterBoundsReading() throws Exception {
+        // Her kayıt generator buffer'ından büyük olduğundan her kayıt yazıcıya hemen gider
+        String line = "{\"text\":\"" + "x".repeat(20_000) + "\",\"tarih\":[2024,1,2]}";
+        int total = 10_000;
+        AtomicInteger read = new AtomicInteger();
+        BufferedReader lines = new BufferedReader(new StringReader("")) {
+            @Override
+            public String readLine() {
+                if (read.get() == total) {
+                    return null;
+                }
+                read.incrementAndGet();
+                return line;
+            }
+        };
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger written = new AtomicInteger();
+        Writer blocking = new Writer() {
+            @Override
+            public void write(char[] buffer, int offset, int length) throws IOException {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+                for (int i = offset; i < offset + length; i++) {
+                    if (buffer[i] == '\n') {
+                        written.incrementAndGet();
+                    }
+                }
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        NdjsonPipeline pipeline = NdjsonPipeline.builder(ENGINE).batchSize(1).queueCapacity(1).build();
+        CompletableFuture<NdjsonPipeline.Summary> summary = CompletableFuture.supplyAsync(() -> {
+            try {
+                return pipeline.convert(lines, blocking);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        // Okunan satır sayısı durulana kadar beklenir: her kuyrukta bir paket, her aşamanın elinde birer kayıt
+        int previous;
+        do {
+            previous = read.get();
+            Thread.sleep(200);
+        } while (previous == 0 || read.get() != previous);
+        assertTrue(read.get() <= 8, "okunan satır: " + read.get());
+
+        release.countDown();
+        assertEquals(new NdjsonPipeline.Summary(total, total, 0), summary.get(60, TimeUnit.SECONDS));
+        assertEquals(total, written.get());
+    }
+
+    private static String convertOrNull(String line) {
+        try {
+            // Satır okuyucusu sondaki fazladan token'ları reddeder; convert(String) bunları yok sayar
+            JsonNode tree = JsonMappers.READER.with(DeserializationFeature.FAIL_ON_TRAILING_TOKENS).readTree(line);
+            return JsonMappers.WRITER.writeValueAsString(ENGINE.apply(tree));
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
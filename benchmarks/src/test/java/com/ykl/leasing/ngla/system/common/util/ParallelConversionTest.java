@@ -0,0 +1,118 @@
+package com.ykl.leasing.ngla.system.common.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Paralel mod sıralı modla aynı çıktıyı, aynı eleman sırasıyla üretmelidir: eşiğin altı/üstü, iç içe büyük diziler,
+// yerinde/kopya modları ve başka bir havuzdan (commonPool) gelen çağrılar dahil
+class ParallelConversionTest {
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    @AfterAll
+    static void shutdown() {
+        POOL.shutdown();
+    }
+
+    @Test
+    void parallelMatchesSequential() throws Exception {
+        JsonConversionEngine sequential = replace(JsonConversionEngine.builder());
+        JsonConversionEngine parallel = replace(JsonConversionEngine.builder().parallel(POOL, 10));
+        Map<String, String> formatters = Map.of("*tarih", "DATE|dd/MM/yyyy", "*amt", "DECIMAL|#,##0.000|en-US");
+        JsonConversionEngine siblingSequential = JsonPreProcessor.compile(formatters);
+        JsonConversionEngine siblingParallel = JsonPreProcessor.engineBuilder(FormatterRules.compile(formatters))
+                .parallel(POOL, 10).build();
+
+        Random random = new Random(8);
+        for (int i = 0; i < 100; i++) {
+            // Eşiğin (10) altında ve çok üstünde; elemanları kendi içinde büyük dizi olabilen diziler
+            String json = array(random, random.nextInt(3) == 0 ? random.nextInt(10) : 10 + random.nextInt(500), true);
+            assertSameOutput(sequential, parallel, json);
+            assertSameOutput(siblingSequential, siblingParallel, json);
+        }
+    }
+
+    @Test
+    void keepsElementOrder() throws Exception {
+        JsonConversionEngine parallel = JsonConversionEngine.builder()
+                .rule(ConversionRules.integersAsText())
+                .parallel(POOL, 1)
+                .build();
+        StringBuilder json = new StringBuilder("[");
+        StringBuilder expected = new StringBuilder("[");
+        for (int i = 0; i < 10_000; i++) {
+            json.append(i > 0 ? "," : "").append(i);
+            expected.append(i > 0 ? "," : "").append('"').append(i).append('"');
+        }
+        assertEquals(expected.append(']').toString(), parallel.convert(json.append(']').toString()));
+    }
+
+    @Test
+    void callsFromAnotherPool() throws Exception {
+        JsonConversionEngine sequential = replace(JsonConversionEngine.builder());
+        JsonConversionEngine parallel = replace(JsonConversionEngine.builder().parallel(POOL, 10));
+        Random random = new Random(80);
+        List<String> documents = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            documents.add(array(random, 10 + random.nextInt(300), true));
+        }
+        List<String> expected = sequential.convertAll(documents);
+        // Paralel stream commonPool'da çalışır; dizi parçaları yine POOL'a gönderilir
+        assertEquals(expected, parallel.convertAll(documents.parallelStream()).collect(Collectors.toList()));
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            assertEquals(expected, parallel.convertAll(documents, executor, 3));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void assertSameOutput(JsonConversionEngine sequential, JsonConversionEngine parallel, String json)
+            throws Exception {
+        String expected = sequential.convert(json);
+        assertEquals(expected, parallel.convert(json));
+
+        JsonNode copied = parallel.apply(JsonMappers.READER.readTree(json), false);
+        JsonNode mutated = parallel.apply(JsonMappers.READER.readTree(json), true);
+        assertEquals(expected, JsonMappers.WRITER.writeValueAsString(copied));
+        assertEquals(expected, JsonMappers.WRITER.writeValueAsString(mutated));
+    }
+
+    private static JsonConversionEngine replace(JsonConversionEngine.Builder builder) {
+        return builder
+                .rule(ConversionRules.dateArrays(true))
+                .rule(ConversionRules.dateStrings())
+                .rule(ConversionRules.decimals(FixedDecimalFormat.TR::format))
+                .rule(ConversionRules.integersAsText())
+                .build();
+    }
+
+    // Elemanların bir kısmı nesne ya da (tek seviye) kendisi de büyük dizi olan kök dizi
+    private static String array(Random random, int size, boolean nested) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            if (nested && random.nextInt(50) == 0) {
+                json.append(array(random, random.nextInt(100), false));
+            } else {
+                json.append(random.nextBoolean() ? RandomDocuments.object(random, 0) : RandomDocuments.value(random, 1));
+            }
+        }
+        return json.append(']').toString();
+    }
+}
@@ -0,0 +1,67 @@
+package com.ykl.leasing.ngla.system.common.util;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+
+// Testlerde kullanılan rastgele JSON belgeleri: tarih dizileri, ISO ve noktalı tarih metinleri, ondalık ve tam
+// sayılar, iç içe nesne ve diziler
+final class RandomDocuments {
+
+    private static final String[] KEYS = {"amt", "tarih", "tutar", "date", "list", "x", "rows"};
+    private static final String[] TEXTS = {"\"hello\"", "\"2024-01-02\"", "\"2024-01-02T10:30:15\"", "\"12.50\"",
+            "\"02.01.2024 10:30\"", "\"2024-01-02T10:30:15+03:00\"", "\"\""};
+
+    private RandomDocuments() {
+    }
+
+    static String document(Random random) {
+        return random.nextInt(5) == 0 ? value(random, 0) : object(random, 0);
+    }
+
+    static String object(Random random, int depth) {
+        StringBuilder json = new StringBuilder("{");
+        int fields = random.nextInt(6);
+        String[] used = new String[fields];
+        for (int i = 0; i < fields; i++) {
+            String key = KEYS[random.nextInt(KEYS.length)];
+            if (Arrays.asList(used).contains(key)) {
+                continue;
+            }
+            used[i] = key;
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append('"').append(key).append("\":").append(value(random, depth + 1));
+        }
+        return json.append('}').toString();
+    }
+
+    static String value(Random random, int depth) {
+        switch (random.nextInt(depth > 3 ? 5 : 8)) {
+            case 0:
+                return Integer.toString(random.nextInt(100_000) - 500);
+            case 1:
+                return String.format(Locale.ROOT, "%.3f", random.nextDouble() * 100_000 - 100);
+            case 2:
+                return TEXTS[random.nextInt(TEXTS.length)];
+            case 3:
+                return "[2024," + (1 + random.nextInt(13)) + "," + (1 + random.nextInt(28)) + "]";
+            case 4:
+                return random.nextBoolean() ? "null" : "[2024,1,2," + random.nextInt(24) + "," + random.nextInt(60) + "]";
+            case 5:
+            case 6:
+                return object(random, depth);
+            default:
+                StringBuilder json = new StringBuilder("[");
+                int items = random.nextInt(8);
+                for (int i = 0; i < items; i++) {
+                    if (i > 0) {
+                        json.append(',');
+                    }
+                    json.append(value(random, depth + 1));
+                }
+                return json.append(']').toString();
+        }
+    }
+}
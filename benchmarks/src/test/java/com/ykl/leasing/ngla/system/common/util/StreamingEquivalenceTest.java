@@ -0,0 +1,115 @@
+package com.ykl.leasing.ngla.system.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Streaming modun çıktısı ağaç moduyla birebir aynı olmalıdır; "Formatted" kardeş alanlarının sırası ve girdide
+// aynı adla bulunan alanlarla çakışması dahil.
+class StreamingEquivalenceTest {
+
+    private static final String[] KEYS = {"amt", "amtFormatted", "amtFormattedFormatted", "tarih", "tarihFormatted",
+            "date", "list", "x"};
+    private static final String[] TEXTS = {"\"hello\"", "\"2024-01-02\"", "\"2024-01-02T10:30:15\"", "\"12.50\"",
+            "\"02.01.2024 10:30\"", "\"x\"", "\"\""};
+
+    @Test
+    void siblingCollisions() {
+        Map<String, String> formatters = Map.of("tarih", "DATE|dd/MM/yyyy");
+        assertSame("{\"amt\":1.5,\"amtFormatted\":\"1,50\"}", "{\"amt\":1.5,\"amtFormatted\":\"x\"}", formatters);
+        assertSame("{\"amtFormatted\":\"1,50\",\"amt\":1.5}", "{\"amtFormatted\":\"x\",\"amt\":1.5}", formatters);
+        assertSame("{\"a\":1.5,\"b\":2,\"aFormatted\":\"1,50\"}", "{\"a\":1.5,\"b\":2}", formatters);
+        assertSame("{\"tarih\":\"2024-01-02\",\"n\":{\"amtFormatted\":2.5,\"amt\":1,\"amtFormattedFormatted\":\"2,50\"},"
+                        + "\"tarihFormatted\":\"02/01/2024\"}",
+                "{\"tarih\":\"2024-01-02\",\"n\":{\"amtFormatted\":2.5,\"amt\":1}}", formatters);
+    }
+
+    @Test
+    void streamingMatchesTree() {
+        Map<String, String> formatters = new LinkedHashMap<>();
+        formatters.put("*.tarih*", "DATE|dd/MM/yyyy|tr-TR");
+        formatters.put("*.date", "DATETIME|dd.MM.yyyy HH:mm");
+        formatters.put("amt*", "DECIMAL|#,##0.000|en-US");
+        Random random = new Random(1);
+        for (int i = 0; i < 3000; i++) {
+            String json = random.nextInt(5) == 0 ? value(random, 0) : object(random, 0);
+            assertStreamingMatchesTree(json, formatters);
+            assertStreamingMatchesTree(json, Map.of());
+        }
+    }
+
+    private static void assertSame(String expected, String json, Map<String, String> formatters) {
+        assertEquals(expected, JsonPreProcessor.enrichDatesAndNumbersWithFormattedStrings(json, formatters));
+        assertStreamingMatchesTree(json, formatters);
+    }
+
+    private static void assertStreamingMatchesTree(String json, Map<String, String> formatters) {
+        String tree = JsonPreProcessor.enrichDatesAndNumbersWithFormattedStrings(json, formatters);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        JsonPreProcessor.enrichDatesAndNumbersWithFormattedStrings(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), bytes, formatters);
+        assertEquals(tree, bytes.toString(StandardCharsets.UTF_8), json);
+
+        StringWriter chars = new StringWriter();
+        JsonPreProcessor.enrichDatesAndNumbersWithFormattedStrings(new StringReader(json), chars, formatters);
+        assertEquals(tree, chars.toString(), json);
+    }
+
+    private static String object(Random random, int depth) {
+        StringBuilder json = new StringBuilder("{");
+        int fields = random.nextInt(5);
+        String[] used = new String[fields];
+        for (int i = 0; i < fields; i++) {
+            String key = KEYS[random.nextInt(KEYS.length)];
+            if (Arrays.asList(used).contains(key)) {
+                continue;
+            }
+            used[i] = key;
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append('"').append(key).append("\":").append(value(random, depth + 1));
+        }
+        return json.append('}').toString();
+    }
+
+    private static String value(Random random, int depth) {
+        switch (random.nextInt(depth > 3 ? 5 : 8)) {
+            case 0:
+                return Integer.toString(random.nextInt(100_000) - 500);
+            case 1:
+                return String.format(Locale.ROOT, "%.3f", random.nextDouble() * 100_000 - 100);
+            case 2:
+                return TEXTS[random.nextInt(TEXTS.length)];
+            case 3:
+                return "[2024," + (1 + random.nextInt(12)) + "," + (1 + random.nextInt(28)) + "]";
+            case 4:
+                return random.nextBoolean() ? "null" : "[2024,1,2," + random.nextInt(24) + "," + random.nextInt(60) + "]";
+            case 5:
+            case 6:
+                return object(random, depth);
+            default:
+                StringBuilder json = new StringBuilder("[");
+                int items = random.nextInt(8);
+                for (int i = 0; i < items; i++) {
+                    if (i > 0) {
+                        json.append(',');
+                    }
+                    json.append(value(random, depth + 1));
+                }
+                return json.append(']').toString();
+        }
+    }
+}